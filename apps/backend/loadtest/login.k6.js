@@ -0,0 +1,56 @@
+// Login latency vs. number of registered users.
+//
+// 1. Seed the users table: psql -v total=1000 -f loadtest/seed-users.sql
+// 2. Run:  k6 run -e BASE_URL=http://localhost:8080 -e USERS=1000 loadtest/login.k6.js
+// 3. Re-seed with total=10000, 100000, 1000000 and re-run with the same USERS value.
+//
+// Login is a single lookup on the unique username/email indexes, so p99 should stay within the same band at every
+// size (BCrypt dominates). The p99 threshold fails the run if it grows. Logins target random seeded users, by
+// username or by email, plus a share of unknown logins that must be rejected.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '1000', 10);
+const PASSWORD = 'LoadTest123!';
+
+export const options = {
+  scenarios: {
+    login: {
+      executor: 'constant-arrival-rate',
+      rate: parseInt(__ENV.RATE || '50', 10),
+      timeUnit: '1s',
+      duration: __ENV.DURATION || '2m',
+      preAllocatedVUs: 50,
+      maxVUs: 200,
+    },
+  },
+  thresholds: {
+    'http_req_duration{expected:ok}': [`p(99)<${__ENV.P99_MS || 500}`],
+    checks: ['rate>0.99'],
+  },
+};
+
+export default function () {
+  const n = 1 + Math.floor(Math.random() * USERS);
+  const roll = Math.random();
+  let login;
+  let expectedStatus = 200;
+  if (roll < 0.45) {
+    login = `loadtest_${n}`;
+  } else if (roll < 0.9) {
+    login = `loadtest_${n}@example.com`;
+  } else {
+    login = `missing_${n}`;
+    expectedStatus = 401;
+  }
+
+  const res = http.post(`${BASE_URL}/api/v1/auth/login`, JSON.stringify({ username: login, password: PASSWORD }), {
+    headers: { 'Content-Type': 'application/json' },
+    tags: { expected: expectedStatus === 200 ? 'ok' : 'rejected' },
+    responseCallback: http.expectedStatuses(expectedStatus),
+  });
+
+  check(res, { [`status is ${expectedStatus}`]: (r) => r.status === expectedStatus });
+}
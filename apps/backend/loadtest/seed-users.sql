@@ -0,0 +1,17 @@
+-- Seeds synthetic users for the login load test (loadtest/login.k6.js).
+-- Usage: psql -v total=1000000 -f loadtest/seed-users.sql
+-- Every seeded user is loadtest_<n> / loadtest_<n>@example.com with password "LoadTest123!".
+-- Run it once per data point (1k, 10k, 100k, 1M); rows that already exist are kept.
+
+INSERT INTO users (id, username, email, password, display_name)
+SELECT gen_random_uuid(),
+       'loadtest_' || n,
+       'loadtest_' || n || '@example.com',
+       '$2a$10$.faAvEWZwNLzjhGMntqQK.IIrnUSGga80bFRrtEMmybdAXqBb36rS',
+       'Load Test ' || n
+FROM generate_series(1, :total) AS n
+ON CONFLICT DO NOTHING;
+
+ANALYZE users;
+
+-- Cleanup: DELETE FROM users WHERE username LIKE 'loadtest\_%';
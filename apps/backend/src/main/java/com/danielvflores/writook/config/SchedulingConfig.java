@@ -0,0 +1,10 @@
+package com.danielvflores.writook.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Enables @Scheduled background jobs (leaderboard refresh, counter flushes, ...)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
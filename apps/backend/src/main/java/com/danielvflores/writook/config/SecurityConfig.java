@@ -8,13 +8,13 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.danielvflores.writook.security.BoundedPasswordEncoder;
 import com.danielvflores.writook.security.JwtAuthenticationFilter;
 
 @Configuration
@@ -41,11 +41,22 @@ public class SecurityConfig {
                     "/api/v1/stories",
                     "/api/v1/stories/{id}",
                     "/api/v1/stories/{id}/stats",
+                    "/api/v1/stories/{id}/similar",
+                    "/api/v1/stories/{id}/events",
+                    "/api/v1/stories/{id}/chapters",
+                    "/api/v1/stories/{id}/chapters/{number}",
                     "/api/v1/stories/with-stats",
+                    "/api/v1/stories/top",
+                    "/api/v1/stories/browse",
+                    "/api/v1/stories/trending",
+                    "/api/v1/stories/search",
+                    "/api/v1/stories/search/suggest",
                     "/api/v1/comments/stories/{id}",
                     "/api/v1/ratings/stories/{id}",
                     "/api/v1/chapters/stories/{storyId}/chapters/{chapterNumber}/stats",
                     "/api/v1/chapters/stories/{storyId}/chapters/{chapterNumber}/comments",
+                    "/api/v1/chapters/stories/{storyId}/chapters/{chapterNumber}/comments/cursor",
+                    "/api/v1/chapters/stories/{storyId}/chapters/{chapterNumber}/events",
                     "/api/v1/chapters/stories/{storyId}/chapters/{chapterNumber}/ratings").permitAll()
                 .anyRequest().authenticated()
             )
@@ -73,8 +84,13 @@ public class SecurityConfig {
 
     // Password encoder bean to hash passwords using BCrypt.
     // AuthService will autowire PasswordEncoder to encode and verify passwords.
+    // Hashing runs on its own bounded pool (one core is left for everything else by default).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${writook.auth.hashing.threads:0}") int threads,
+            @Value("${writook.auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${writook.auth.hashing.max-wait-ms:2000}") long maxWaitMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, maxWaitMillis);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.danielvflores.writook.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +16,7 @@ import com.danielvflores.writook.dto.RegisterRequestDTO;
 import com.danielvflores.writook.dto.RegisterResponseDTO;
 import com.danielvflores.writook.dto.UserResponseDTO;
 import com.danielvflores.writook.model.User;
+import com.danielvflores.writook.security.BoundedPasswordEncoder;
 import com.danielvflores.writook.service.AuthService;
 import com.danielvflores.writook.utility.TokenJWTUtility;
 
@@ -25,6 +27,9 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired(required = false)
+    private BoundedPasswordEncoder passwordEncoder;
+
     @PostMapping("/register")
     public ResponseEntity<ApiResponseDTO> register(@RequestBody RegisterRequestDTO request) {
         try {
@@ -42,6 +47,8 @@ public class AuthController {
             
             return ResponseEntity.ok(apiResponse);
 
+        } catch (BoundedPasswordEncoder.BusyException e) {
+            return busy(e);
         } catch (RuntimeException e) {
             if (e.getMessage().equals("User already exists")) {
                 ApiResponseDTO errorResponse = new ApiResponseDTO(false, "El usuario ya existe", null);
@@ -55,7 +62,12 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<ApiResponseDTO> login(@RequestBody LoginRequestDTO request) {
 
-        User user = authService.login(request.getUsername(), request.getPassword());
+        User user;
+        try {
+            user = authService.login(request.getUsername(), request.getPassword());
+        } catch (BoundedPasswordEncoder.BusyException e) {
+            return busy(e);
+        }
 
         if (user == null) {
             ApiResponseDTO errorResponse = new ApiResponseDTO(false, "Credenciales inválidas", null);
@@ -91,4 +103,19 @@ public class AuthController {
         return ResponseEntity.ok(successResponse);
     }
 
+    @GetMapping("/hashing/metrics")
+    public ResponseEntity<BoundedPasswordEncoder.Metrics> getHashingMetrics() {
+        if (passwordEncoder == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok(passwordEncoder.metrics());
+    }
+
+    // Fast rejection while password hashing is saturated; clients retry after a short pause
+    private ResponseEntity<ApiResponseDTO> busy(BoundedPasswordEncoder.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "2")
+            .body(new ApiResponseDTO(false, e.getMessage(), null));
+    }
+
 }
@@ -2,7 +2,6 @@ package com.danielvflores.writook.controller;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -20,10 +19,12 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.danielvflores.writook.dto.ApiResponseDTO;
 import com.danielvflores.writook.dto.ChapterCommentResponseDTO;
+import com.danielvflores.writook.dto.CursorPageDTO;
 import com.danielvflores.writook.model.ChapterComment;
 import com.danielvflores.writook.model.User;
 import com.danielvflores.writook.service.AuthService;
 import com.danielvflores.writook.service.ChapterCommentService;
+import com.danielvflores.writook.service.LiveUpdateService;
 import com.danielvflores.writook.service.UserService;
 
 @RestController
@@ -39,6 +40,9 @@ public class ChapterCommentController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     /**
      * Create a new chapter comment
      */
@@ -89,13 +93,7 @@ public class ChapterCommentController {
             Page<ChapterComment> commentsPage = chapterCommentService.getChapterComments(
                 storyUuid, chapterNumber, page, size);
             
-            List<ChapterCommentResponseDTO> comments = commentsPage.getContent().stream()
-                .map(comment -> {
-                    User user = userService.getUserById(comment.getUserId().toString());
-                    String username = user != null ? user.getUsername() : "Usuario desconocido";
-                    return new ChapterCommentResponseDTO(comment, username);
-                })
-                .collect(Collectors.toList());
+            List<ChapterCommentResponseDTO> comments = userService.withUsernames(commentsPage.getContent(), ChapterComment::getUserId, ChapterCommentResponseDTO::new);
 
             ChapterCommentsPageResponse response = new ChapterCommentsPageResponse();
             response.setComments(comments);
@@ -116,6 +114,57 @@ public class ChapterCommentController {
         }
     }
 
+    /**
+     * Live comment and rating updates for a chapter (Server-Sent Events)
+     */
+    @GetMapping("/stories/{storyId}/chapters/{chapterNumber}/events")
+    public ResponseEntity<?> streamChapterEvents(
+            @PathVariable String storyId,
+            @PathVariable Integer chapterNumber) {
+        try {
+            return ResponseEntity.ok(liveUpdateService.subscribeToChapter(UUID.fromString(storyId), chapterNumber));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("ID de historia inválido");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Get chapter comments with cursor pagination (no total count; follow nextCursor while hasNext)
+     */
+    @GetMapping("/stories/{storyId}/chapters/{chapterNumber}/comments/cursor")
+    public ResponseEntity<ApiResponseDTO> getChapterCommentsByCursor(
+            @PathVariable String storyId,
+            @PathVariable Integer chapterNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        UUID storyUuid;
+        try {
+            storyUuid = UUID.fromString(storyId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponseDTO(false, "ID de historia inválido", null));
+        }
+
+        try {
+            CursorPageDTO<ChapterComment> page = chapterCommentService.getChapterCommentsPage(storyUuid, chapterNumber, cursor, size);
+
+            List<ChapterCommentResponseDTO> comments = userService.withUsernames(page.getItems(), ChapterComment::getUserId, ChapterCommentResponseDTO::new);
+
+            return ResponseEntity.ok(new ApiResponseDTO(true, "Comentarios del capítulo obtenidos",
+                new CursorPageDTO<>(comments, page.getNextCursor(), page.isHasNext())));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponseDTO(false, e.getMessage(), null));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponseDTO(false, "Error interno del servidor", null));
+        }
+    }
+
     /**
      * Update a chapter comment
      */
@@ -3,7 +3,6 @@ package com.danielvflores.writook.controller;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -150,13 +149,7 @@ public class ChapterRatingController {
             Page<ChapterRating> ratingsPage = chapterRatingService.getChapterRatings(
                 storyUuid, chapterNumber, page, size);
             
-            List<ChapterRatingResponseDTO> ratings = ratingsPage.getContent().stream()
-                .map(rating -> {
-                    User user = userService.getUserById(rating.getUserId().toString());
-                    String username = user != null ? user.getUsername() : "Usuario desconocido";
-                    return new ChapterRatingResponseDTO(rating, username);
-                })
-                .collect(Collectors.toList());
+            List<ChapterRatingResponseDTO> ratings = userService.withUsernames(ratingsPage.getContent(), ChapterRating::getUserId, ChapterRatingResponseDTO::new);
 
             ChapterRatingsPageResponse response = new ChapterRatingsPageResponse();
             response.setRatings(ratings);
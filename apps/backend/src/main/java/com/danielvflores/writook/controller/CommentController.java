@@ -2,7 +2,6 @@ package com.danielvflores.writook.controller;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -84,13 +83,7 @@ public class CommentController {
             UUID storyUuid = UUID.fromString(storyId);
             Page<Comment> commentsPage = commentService.getStoryComments(storyUuid, page, size);
             
-            List<CommentResponseDTO> comments = commentsPage.getContent().stream()
-                .map(comment -> {
-                    User user = userService.getUserById(comment.getUserId().toString());
-                    String username = user != null ? user.getUsername() : "Usuario desconocido";
-                    return new CommentResponseDTO(comment, username);
-                })
-                .collect(Collectors.toList());
+            List<CommentResponseDTO> comments = userService.withUsernames(commentsPage.getContent(), Comment::getUserId, CommentResponseDTO::new);
 
             // Crear respuesta con información de paginación
             CommentsPageResponse response = new CommentsPageResponse();
@@ -3,7 +3,6 @@ package com.danielvflores.writook.controller;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -72,13 +71,7 @@ public class RatingController {
             UUID storyUuid = UUID.fromString(storyId);
             List<Rating> ratings = ratingService.getStoryRatings(storyUuid);
             
-            List<RatingResponseDTO> response = ratings.stream()
-                .map(rating -> {
-                    User user = userService.getUserById(rating.getUserId().toString());
-                    String username = user != null ? user.getUsername() : "Usuario desconocido";
-                    return new RatingResponseDTO(rating, username);
-                })
-                .collect(Collectors.toList());
+            List<RatingResponseDTO> response = userService.withUsernames(ratings, Rating::getUserId, RatingResponseDTO::new);
 
             return ResponseEntity.ok(new ApiResponseDTO(true, "Valoraciones obtenidas", response));
 
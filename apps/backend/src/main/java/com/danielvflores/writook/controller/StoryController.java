@@ -1,7 +1,8 @@
 package com.danielvflores.writook.controller;
 
-import java.util.ArrayList;
+import java.security.Principal;
 import java.util.List;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -14,15 +15,25 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.danielvflores.writook.dto.AuthorDTO;
+import com.danielvflores.writook.dto.ChapterContentDTO;
+import com.danielvflores.writook.dto.ChapterSummaryDTO;
+import com.danielvflores.writook.dto.StoryBrowseDTO;
+import com.danielvflores.writook.dto.StorySummaryDTO;
 import com.danielvflores.writook.model.Chapter;
 import com.danielvflores.writook.model.Story;
 import com.danielvflores.writook.model.User;
+import com.danielvflores.writook.security.JwtTokenVerifier;
+import com.danielvflores.writook.service.ChapterReaderService;
+import com.danielvflores.writook.service.LiveUpdateService;
+import com.danielvflores.writook.service.PrincipalService;
 import com.danielvflores.writook.service.StoryService;
-import com.danielvflores.writook.service.UserService;
-import com.danielvflores.writook.utility.TokenJWTUtility;
+import com.danielvflores.writook.service.ViewCounterService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/v1/stories")
@@ -33,16 +44,78 @@ public class StoryController {
     private StoryService storyService;
 
     @Autowired
-    private UserService userService;
+    private PrincipalService principalService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Autowired
+    private ViewCounterService viewCounterService;
+
+    @Autowired
+    private ChapterReaderService chapterReaderService;
 
     @GetMapping
-    public List<Story> getAllStories() {
-        return storyService.getAllStories();
+    public ResponseEntity<?> getAllStories(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(storyService.getStoriesPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @GetMapping("/with-stats")
-    public List<StoryService.StoryWithStatsDTO> getAllStoriesWithStats() {
-        return storyService.getAllStoriesWithStats();
+    public ResponseEntity<?> getAllStoriesWithStats(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(storyService.getStoriesWithStatsPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    public List<StorySummaryDTO> searchStories(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return storyService.searchStories(query, page, size);
+    }
+
+    @GetMapping("/trending")
+    public List<StorySummaryDTO> getTrendingStories(@RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return storyService.getTrendingStories(limit);
+    }
+
+    @GetMapping("/browse")
+    public StoryBrowseDTO browseStories(
+            @RequestParam(value = "genre", required = false) List<String> genres,
+            @RequestParam(value = "tag", required = false) List<String> tags,
+            @RequestParam(value = "match", defaultValue = "all") String match,
+            @RequestParam(value = "minRating", required = false) Double minRating,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return storyService.browseStories(genres, tags, !"any".equalsIgnoreCase(match), minRating, page, size);
+    }
+
+    @GetMapping("/top")
+    public List<StorySummaryDTO> getTopRatedStories(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        return storyService.getTopRatedStories(page, size);
+    }
+
+    @GetMapping("/search/suggest")
+    public List<StorySummaryDTO> suggestStories(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return storyService.fuzzySearchStories(query, limit);
     }
 
     @GetMapping("/{id}/stats")
@@ -58,7 +131,65 @@ public class StoryController {
 
     @GetMapping("/{id}")
     public Story getStoryById(@PathVariable("id") String id) {
-        return storyService.getStoryById(id);
+        Story story = storyService.getStoryById(id);
+        if (story != null) {
+            viewCounterService.recordView(UUID.fromString(story.getId()));
+        }
+        return story;
+    }
+
+    @GetMapping("/{id}/events")
+    public ResponseEntity<?> streamStoryEvents(@PathVariable("id") String id) {
+        try {
+            return ResponseEntity.ok(liveUpdateService.subscribeToStory(UUID.fromString(id)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de historia inválido");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarStories(
+            @PathVariable("id") String id,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(storyService.getSimilarStories(id, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID de historia inválido");
+        }
+    }
+
+    @GetMapping("/{id}/chapters")
+    public ResponseEntity<?> getTableOfContents(@PathVariable("id") String id) {
+        List<ChapterSummaryDTO> toc = storyService.getTableOfContents(id);
+        if (toc == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Historia no encontrada");
+        }
+        return ResponseEntity.ok(toc);
+    }
+
+    @GetMapping("/{id}/chapters/{number}")
+    public ResponseEntity<?> getChapter(@PathVariable("id") String id, @PathVariable("number") int number,
+            Principal principal, HttpServletRequest request) {
+        ChapterContentDTO chapter = storyService.getChapter(id, number);
+        if (chapter == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Capítulo no encontrado");
+        }
+        UUID storyId = UUID.fromString(chapter.getStoryId());
+        viewCounterService.recordView(storyId);
+        chapterReaderService.recordRead(storyId, number, readerId(principal, request));
+        return ResponseEntity.ok(chapter);
+    }
+
+    // Logged-in readers count once per account; anonymous ones by client address and browser.
+    // The address comes from Tomcat's RemoteIpValve (server.forward-headers-strategy), which only honours
+    // X-Forwarded-For from trusted proxies, so clients can't mint new readers by rotating the header.
+    private static String readerId(Principal principal, HttpServletRequest request) {
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return "anon:" + request.getRemoteAddr() + "|" + request.getHeader("User-Agent");
     }
 
     @GetMapping("/{id}/ownership")
@@ -81,11 +212,11 @@ public class StoryController {
     @PostMapping
     public Story createStory(@RequestBody Story story, @RequestHeader("Authorization") String authHeader) {
         String token = authHeader.substring(7); // Remove "Bearer "
-        String usernameFromToken = TokenJWTUtility.getUsernameFromToken(token);
+        String usernameFromToken = jwtTokenVerifier.verify(token);
         
-        User authenticatedUser = userService.findByUsername(usernameFromToken);
+        User authenticatedUser = principalService.currentRequestUser();
         if (authenticatedUser == null) {
-            authenticatedUser = userService.findByEmail(usernameFromToken);
+            authenticatedUser = principalService.resolve(usernameFromToken);
         }
         
         if (authenticatedUser == null) {
@@ -140,29 +271,10 @@ public class StoryController {
     public ResponseEntity<?> addChapter(@PathVariable("storyId") String storyId, @RequestBody Chapter newChapter, @RequestHeader("Authorization") String authHeader) {
         try {
 
-            storyService.getStoryWithOwnershipCheck(storyId, authHeader);
-            
-            Story story = storyService.getStoryById(storyId);
-            if (story == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Historia no encontrada");
-            }
+            storyService.checkStoryOwnership(storyId, authHeader);
 
-            List<Chapter> chapters = new ArrayList<>(story.getChapters());
-            chapters.add(newChapter);
-
-            Story updatedStory = new Story(
-                story.getTitle(),
-                story.getSynopsis(),
-                story.getAuthor(),
-                story.getRating(),
-                story.getGenres(),
-                story.getTags(),
-                chapters,
-                storyId
-            );
-
-            Story result = storyService.updateStory(storyId, updatedStory);
-            return ResponseEntity.ok(result);
+            Chapter result = storyService.appendChapter(storyId, newChapter);
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
 
         } catch (RuntimeException e) {
             String message = e.getMessage();
@@ -183,17 +295,17 @@ public class StoryController {
     }
 
     @GetMapping("/author/{username}")
-    public List<Story> getStoriesByAuthorUsername(@PathVariable("username") String username) {
+    public List<StorySummaryDTO> getStoriesByAuthorUsername(@PathVariable("username") String username) {
         return storyService.getStoriesByAuthorUsername(username);
     }
 
     @GetMapping("/me")
-    public List<Story> getMyStories(@RequestHeader("Authorization") String authHeader) {
+    public List<StorySummaryDTO> getMyStories(@RequestHeader("Authorization") String authHeader) {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             throw new RuntimeException("Token not provided");
         }
         String token = authHeader.substring(7);
-        String usernameFromToken = TokenJWTUtility.getUsernameFromToken(token);
+        String usernameFromToken = jwtTokenVerifier.verify(token);
         if (usernameFromToken == null) {
             throw new RuntimeException("Invalid token");
         }
@@ -217,7 +329,7 @@ public class StoryController {
                 updatedStory.getRating(),
                 updatedStory.getGenres(),
                 updatedStory.getTags(),
-                existingStory.getChapters(),
+                null, // metadata only: chapters are left untouched
                 id
             );
             
@@ -0,0 +1,54 @@
+package com.danielvflores.writook.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+// A SINGLE CHAPTER FOR THE READER, WITH JUST ENOUGH OF ITS STORY (TITLE, AUTHOR) TO RENDER THE PAGE
+public class ChapterContentDTO {
+    private String storyId;
+    private String storyTitle;
+    private String authorUsername;
+    private int number;
+    private String title;
+    private String content;
+    private int wordCount;
+    private OffsetDateTime updatedAt;
+
+    public ChapterContentDTO() {}
+
+    public ChapterContentDTO(UUID storyId, String storyTitle, String authorUsername, int number, String title,
+            String content, int wordCount, OffsetDateTime updatedAt) {
+        this.storyId = storyId != null ? storyId.toString() : null;
+        this.storyTitle = storyTitle;
+        this.authorUsername = authorUsername;
+        this.number = number;
+        this.title = title;
+        this.content = content;
+        this.wordCount = wordCount;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getStoryId() { return storyId; }
+    public void setStoryId(String storyId) { this.storyId = storyId; }
+
+    public String getStoryTitle() { return storyTitle; }
+    public void setStoryTitle(String storyTitle) { this.storyTitle = storyTitle; }
+
+    public String getAuthorUsername() { return authorUsername; }
+    public void setAuthorUsername(String authorUsername) { this.authorUsername = authorUsername; }
+
+    public int getNumber() { return number; }
+    public void setNumber(int number) { this.number = number; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public int getWordCount() { return wordCount; }
+    public void setWordCount(int wordCount) { this.wordCount = wordCount; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
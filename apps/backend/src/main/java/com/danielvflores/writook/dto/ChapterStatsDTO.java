@@ -5,6 +5,8 @@ public class ChapterStatsDTO {
     private long totalRatings;
     private long totalComments;
     private long views;
+    private long uniqueReaders;
+    private long storyUniqueReaders;
 
     // Constructors
     public ChapterStatsDTO() {}
@@ -16,6 +18,12 @@ public class ChapterStatsDTO {
         this.views = views;
     }
 
+    public ChapterStatsDTO(double averageRating, long totalRatings, long totalComments, long uniqueReaders, long storyUniqueReaders) {
+        this(averageRating, totalRatings, totalComments, uniqueReaders);
+        this.uniqueReaders = uniqueReaders;
+        this.storyUniqueReaders = storyUniqueReaders;
+    }
+
     // Getters and Setters
     public double getAverageRating() { return averageRating; }
     public void setAverageRating(double averageRating) { this.averageRating = averageRating; }
@@ -28,4 +36,11 @@ public class ChapterStatsDTO {
 
     public long getViews() { return views; }
     public void setViews(long views) { this.views = views; }
+
+    // HyperLogLog estimates (about 2% error), see ChapterReaderService
+    public long getUniqueReaders() { return uniqueReaders; }
+    public void setUniqueReaders(long uniqueReaders) { this.uniqueReaders = uniqueReaders; }
+
+    public long getStoryUniqueReaders() { return storyUniqueReaders; }
+    public void setStoryUniqueReaders(long storyUniqueReaders) { this.storyUniqueReaders = storyUniqueReaders; }
 }
\ No newline at end of file
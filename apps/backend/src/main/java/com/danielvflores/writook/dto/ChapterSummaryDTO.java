@@ -0,0 +1,32 @@
+package com.danielvflores.writook.dto;
+
+import java.time.OffsetDateTime;
+
+// ONE LINE OF A STORY'S TABLE OF CONTENTS. NO CONTENT, SO THE WHOLE LIST STAYS A FEW KILOBYTES.
+public class ChapterSummaryDTO {
+    private int number;
+    private String title;
+    private int wordCount;
+    private OffsetDateTime updatedAt;
+
+    public ChapterSummaryDTO() {}
+
+    public ChapterSummaryDTO(int number, String title, int wordCount, OffsetDateTime updatedAt) {
+        this.number = number;
+        this.title = title;
+        this.wordCount = wordCount;
+        this.updatedAt = updatedAt;
+    }
+
+    public int getNumber() { return number; }
+    public void setNumber(int number) { this.number = number; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public int getWordCount() { return wordCount; }
+    public void setWordCount(int wordCount) { this.wordCount = wordCount; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,25 @@
+package com.danielvflores.writook.dto;
+
+import java.util.List;
+
+// ONE PAGE OF A KEYSET-PAGINATED LISTING. THERE IS NO TOTAL COUNT ON PURPOSE: CLIENTS KEEP
+// ASKING WITH nextCursor WHILE hasNext IS TRUE. THIS CLASS IS IMMUTABLE.
+public class CursorPageDTO<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    public CursorPageDTO(List<T> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasNext() { return hasNext; }
+
+    public int getSize() { return items.size(); }
+}
@@ -0,0 +1,39 @@
+package com.danielvflores.writook.dto;
+
+import java.util.UUID;
+
+// ONE LIVE UPDATE PUSHED OVER SSE (comment.created, rating.updated, ...). FIELDS THAT DON'T APPLY TO THE
+// EVENT TYPE ARE NULL. THIS CLASS IS IMMUTABLE SO ONE INSTANCE IS SHARED BY EVERY SUBSCRIBER.
+public class LiveEventDTO {
+    private final String type;
+    private final UUID storyId;
+    private final Integer chapterNumber;
+    private final UUID id;
+    private final UUID userId;
+    private final String content;
+    private final Integer ratingValue;
+
+    public LiveEventDTO(String type, UUID storyId, Integer chapterNumber, UUID id, UUID userId, String content, Integer ratingValue) {
+        this.type = type;
+        this.storyId = storyId;
+        this.chapterNumber = chapterNumber;
+        this.id = id;
+        this.userId = userId;
+        this.content = content;
+        this.ratingValue = ratingValue;
+    }
+
+    public String getType() { return type; }
+
+    public UUID getStoryId() { return storyId; }
+
+    public Integer getChapterNumber() { return chapterNumber; }
+
+    public UUID getId() { return id; }
+
+    public UUID getUserId() { return userId; }
+
+    public String getContent() { return content; }
+
+    public Integer getRatingValue() { return ratingValue; }
+}
@@ -0,0 +1,30 @@
+package com.danielvflores.writook.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// ONE PAGE OF A FACETED BROWSE PLUS HOW MANY MATCHING STORIES FALL UNDER EACH GENRE AND TAG
+public class StoryBrowseDTO {
+    private final List<StorySummaryDTO> items;
+    private final int page;
+    private final int size;
+    private final long total;
+    private final Map<String, Long> genreCounts;
+    private final Map<String, Long> tagCounts;
+
+    public StoryBrowseDTO(List<StorySummaryDTO> items, int page, int size, long total, Map<String, Long> genreCounts, Map<String, Long> tagCounts) {
+        this.items = items;
+        this.page = page;
+        this.size = size;
+        this.total = total;
+        this.genreCounts = genreCounts;
+        this.tagCounts = tagCounts;
+    }
+
+    public List<StorySummaryDTO> getItems() { return items; }
+    public int getPage() { return page; }
+    public int getSize() { return size; }
+    public long getTotal() { return total; }
+    public Map<String, Long> getGenreCounts() { return genreCounts; }
+    public Map<String, Long> getTagCounts() { return tagCounts; }
+}
@@ -0,0 +1,61 @@
+package com.danielvflores.writook.dto;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// CARD-SIZED VIEW OF A STORY FOR LIST ENDPOINTS. IT IS FILLED BY A JPQL CONSTRUCTOR PROJECTION,
+// SO CHAPTER BODIES (AND THE REST OF THE ENTITY GRAPH) ARE NEVER LOADED TO BUILD IT.
+public class StorySummaryDTO {
+    private String id;
+    private String title;
+    private String synopsis;
+    private AuthorDTO author;
+    private double rating;
+    private int chapterCount;
+    private List<String> genres = List.of();
+    private List<String> tags = List.of();
+    private OffsetDateTime createdAt;
+
+    public StorySummaryDTO() {}
+
+    // Used by "SELECT new ...StorySummaryDTO(...)" queries in StoryRepository
+    public StorySummaryDTO(UUID id, String title, String synopsis, String authorUsername, String authorEmail,
+            String authorDisplayName, String authorProfilePictureUrl, double rating, int chapterCount,
+            OffsetDateTime createdAt) {
+        this.id = id != null ? id.toString() : null;
+        this.title = title;
+        this.synopsis = synopsis;
+        this.author = new AuthorDTO(authorUsername, authorEmail, authorDisplayName, null, authorProfilePictureUrl);
+        this.rating = rating;
+        this.chapterCount = chapterCount;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getSynopsis() { return synopsis; }
+    public void setSynopsis(String synopsis) { this.synopsis = synopsis; }
+
+    public AuthorDTO getAuthor() { return author; }
+    public void setAuthor(AuthorDTO author) { this.author = author; }
+
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+
+    public int getChapterCount() { return chapterCount; }
+    public void setChapterCount(int chapterCount) { this.chapterCount = chapterCount; }
+
+    public List<String> getGenres() { return genres; }
+    public void setGenres(List<String> genres) { this.genres = genres; }
+
+    public List<String> getTags() { return tags; }
+    public void setTags(List<String> tags) { this.tags = tags; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,32 @@
+package com.danielvflores.writook.dto;
+
+import java.util.UUID;
+
+// THE FEW USER FIELDS A COMMENT OR RATING LIST SHOWS NEXT TO EACH ITEM. NEVER CARRIES THE PASSWORD HASH OR BIO.
+public class UserCardDTO {
+    private UUID id;
+    private String username;
+    private String displayName;
+    private String profilePictureUrl;
+
+    public UserCardDTO() {}
+
+    public UserCardDTO(UUID id, String username, String displayName, String profilePictureUrl) {
+        this.id = id;
+        this.username = username;
+        this.displayName = displayName;
+        this.profilePictureUrl = profilePictureUrl;
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+
+    public String getDisplayName() { return displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; }
+
+    public String getProfilePictureUrl() { return profilePictureUrl; }
+    public void setProfilePictureUrl(String profilePictureUrl) { this.profilePictureUrl = profilePictureUrl; }
+}
@@ -1,6 +1,10 @@
 package com.danielvflores.writook.entity;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.OffsetDateTime;
+import java.util.HexFormat;
 import java.util.UUID;
 
 import jakarta.persistence.Column;
@@ -34,6 +38,12 @@ public class ChapterEntity {
     @Column(name = "content", columnDefinition = "TEXT")
     private String content;
 
+    @Column(name = "word_count")
+    private int wordCount;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
 
@@ -57,6 +67,10 @@ public class ChapterEntity {
     public String getContent() { return content; }
     public void setContent(String content) { this.content = content; }
 
+    public int getWordCount() { return wordCount; }
+
+    public String getContentHash() { return contentHash; }
+
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
 
@@ -65,8 +79,41 @@ public class ChapterEntity {
         OffsetDateTime now = OffsetDateTime.now();
         this.createdAt = now;
         this.updatedAt = now;
+        this.wordCount = countWords(content);
+        this.contentHash = contentHash(content);
     }
 
     @PreUpdate
-    public void preUpdate() { this.updatedAt = OffsetDateTime.now(); }
+    public void preUpdate() {
+        this.updatedAt = OffsetDateTime.now();
+        this.wordCount = countWords(content);
+        this.contentHash = contentHash(content);
+    }
+
+    // SHA-256 of the UTF-8 content as lowercase hex (V9 backfills existing rows with the same digest)
+    public static String contentHash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((content != null ? content : "").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Whitespace-separated tokens (V8 backfills existing rows with the same rule)
+    public static int countWords(String text) {
+        if (text == null) return 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+        }
+        return words;
+    }
 }
@@ -33,10 +33,24 @@ public class StoryEntity {
     @Column(name = "synopsis", columnDefinition = "TEXT")
     private String synopsis;
 
-    @Column(name = "rating")
+    // RATING AND THE COUNTERS BELOW ARE MAINTAINED BY StoryRepository UPDATES, NEVER BY MERGING THE ENTITY
+    @Column(name = "rating", insertable = false, updatable = false)
     private double rating;
 
-    @Column(name = "views")
+    @Column(name = "rating_sum", insertable = false, updatable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", insertable = false, updatable = false)
+    private long ratingCount;
+
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    private long commentCount;
+
+    @Column(name = "chapter_count", insertable = false, updatable = false)
+    private int chapterCount;
+
+    // Maintained by ViewCounterService in batches; never written back from the entity
+    @Column(name = "views", updatable = false)
     private long views;
 
     @Column(name = "author_id", columnDefinition = "UUID")
@@ -76,7 +90,7 @@ public class StoryEntity {
     )
     private Set<TagEntity> tags = new HashSet<>();
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", updatable = false)
     private OffsetDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -96,6 +110,11 @@ public class StoryEntity {
     public double getRating() { return rating; }
     public void setRating(double rating) { this.rating = rating; }
 
+    public long getRatingSum() { return ratingSum; }
+    public long getRatingCount() { return ratingCount; }
+    public long getCommentCount() { return commentCount; }
+    public int getChapterCount() { return chapterCount; }
+
     public long getViews() { return views; }
     public void setViews(long views) { this.views = views; }
 
@@ -1,9 +1,11 @@
 package com.danielvflores.writook.repository;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +22,25 @@ public interface ChapterCommentRepository extends JpaRepository<ChapterComment,
     Page<ChapterComment> findByStoryIdAndChapterNumberOrderByCreatedAtDesc(
         UUID storyId, Integer chapterNumber, Pageable pageable);
     
+    /**
+     * First page of a chapter's comments, newest first, with no COUNT query
+     */
+    @Query("SELECT cc FROM ChapterComment cc WHERE cc.storyId = :storyId AND cc.chapterNumber = :chapterNumber "
+        + "ORDER BY cc.createdAt DESC, cc.id DESC")
+    Slice<ChapterComment> findFirstCommentsSlice(
+        @Param("storyId") UUID storyId, @Param("chapterNumber") Integer chapterNumber, Pageable pageable);
+
+    /**
+     * Comments strictly after the (createdAt, id) keyset of the previous page. The createdAt <= bound lets
+     * idx_chapter_comments_story_chapter_created seek straight to the cursor instead of skipping rows.
+     */
+    @Query("SELECT cc FROM ChapterComment cc WHERE cc.storyId = :storyId AND cc.chapterNumber = :chapterNumber "
+        + "AND cc.createdAt <= :createdAt AND (cc.createdAt < :createdAt OR cc.id < :id) "
+        + "ORDER BY cc.createdAt DESC, cc.id DESC")
+    Slice<ChapterComment> findCommentsSliceAfter(
+        @Param("storyId") UUID storyId, @Param("chapterNumber") Integer chapterNumber,
+        @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
     /**
      * Count total comments for a chapter
      */
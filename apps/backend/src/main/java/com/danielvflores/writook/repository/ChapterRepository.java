@@ -1,12 +1,50 @@
 package com.danielvflores.writook.repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.danielvflores.writook.dto.ChapterContentDTO;
+import com.danielvflores.writook.dto.ChapterSummaryDTO;
 import com.danielvflores.writook.entity.ChapterEntity;
 
 @Repository
 public interface ChapterRepository extends JpaRepository<ChapterEntity, UUID> {
+
+    /**
+     * Table of contents: number, title, word count and updated_at, without reading content
+     */
+    @Query("SELECT new com.danielvflores.writook.dto.ChapterSummaryDTO(c.number, c.title, c.wordCount, c.updatedAt) "
+        + "FROM ChapterEntity c WHERE c.story.id = :storyId ORDER BY c.number")
+    List<ChapterSummaryDTO> findTableOfContents(@Param("storyId") UUID storyId);
+
+    /**
+     * One chapter body, looked up through uq_chapter_story_number (story_id, number)
+     */
+    @Query("SELECT new com.danielvflores.writook.dto.ChapterContentDTO(s.id, s.title, s.authorUsername, c.number, c.title, "
+        + "c.content, c.wordCount, c.updatedAt) FROM ChapterEntity c JOIN c.story s WHERE s.id = :storyId AND c.number = :number")
+    Optional<ChapterContentDTO> findChapterContent(@Param("storyId") UUID storyId, @Param("number") int number);
+
+    // Highest chapter number of a story (0 when it has none); served by uq_chapter_story_number
+    @Query("SELECT COALESCE(MAX(c.number), 0) FROM ChapterEntity c WHERE c.story.id = :storyId")
+    int findMaxNumberByStoryId(@Param("storyId") UUID storyId);
+
+    // [id, number, title, contentHash] of every chapter of a story, enough to diff an edit without reading content
+    @Query("SELECT c.id, c.number, c.title, c.contentHash FROM ChapterEntity c WHERE c.story.id = :storyId")
+    List<Object[]> findSyncRowsByStoryId(@Param("storyId") UUID storyId);
+
+    /**
+     * In-place edit of one chapter by (story_id, number); returns 0 when the chapter does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE chapters SET title = :title, content = :content, word_count = :wordCount, content_hash = :contentHash "
+        + "WHERE story_id = :storyId AND number = :number", nativeQuery = true)
+    int updateContent(@Param("storyId") UUID storyId, @Param("number") int number, @Param("title") String title,
+            @Param("content") String content, @Param("wordCount") int wordCount, @Param("contentHash") String contentHash);
 }
@@ -1,5 +1,7 @@
 package com.danielvflores.writook.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,5 @@ import com.danielvflores.writook.entity.GenreEntity;
 @Repository
 public interface GenreRepository extends JpaRepository<GenreEntity, UUID> {
     Optional<GenreEntity> findByName(String name);
+    List<GenreEntity> findByNameIn(Collection<String> names);
 }
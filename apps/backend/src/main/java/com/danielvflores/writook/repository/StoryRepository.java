@@ -1,16 +1,129 @@
 package com.danielvflores.writook.repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.danielvflores.writook.dto.AuthorDTO;
+import com.danielvflores.writook.dto.StorySummaryDTO;
 import com.danielvflores.writook.entity.StoryEntity;
 
 @Repository
 public interface StoryRepository extends JpaRepository<StoryEntity, UUID> {
-    List<StoryEntity> findByAuthorUsername(String username);
+
+    // Card columns only: list endpoints never touch the chapters table
+    String SUMMARY_SELECT = "SELECT new com.danielvflores.writook.dto.StorySummaryDTO(s.id, s.title, s.synopsis, s.authorUsername, s.authorEmail, "
+        + "s.authorDisplayName, s.authorProfilePictureUrl, s.rating, s.chapterCount, s.createdAt) FROM StoryEntity s ";
+
     Optional<StoryEntity> findById(UUID id);
+
+    // Author columns only, for ownership checks that must not load chapters
+    @Query("SELECT new com.danielvflores.writook.dto.AuthorDTO(s.authorUsername, s.authorEmail, s.authorDisplayName, s.authorBio, "
+        + "s.authorProfilePictureUrl) FROM StoryEntity s WHERE s.id = :id")
+    Optional<AuthorDTO> findAuthorById(@Param("id") UUID id);
+
+    @Query(SUMMARY_SELECT + "WHERE s.authorUsername = :username ORDER BY s.createdAt DESC, s.id DESC")
+    List<StorySummaryDTO> findSummariesByAuthorUsername(@Param("username") String username);
+
+    // Unordered; callers put the rows back in the order of their id list
+    @Query(SUMMARY_SELECT + "WHERE s.id IN :ids")
+    List<StorySummaryDTO> findSummariesByIds(@Param("ids") Collection<UUID> ids);
+
+    // [storyId, genreName] for a page of stories
+    @Query("SELECT s.id, g.name FROM StoryEntity s JOIN s.genres g WHERE s.id IN :ids")
+    List<Object[]> findGenreNamesByStoryIds(@Param("ids") Collection<UUID> ids);
+
+    // [storyId, tagName] for a page of stories
+    @Query("SELECT s.id, t.name FROM StoryEntity s JOIN s.tags t WHERE s.id IN :ids")
+    List<Object[]> findTagNamesByStoryIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * First page of the catalog, newest first (idx_stories_created_id)
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY s.createdAt DESC, s.id DESC")
+    List<StorySummaryDTO> findCatalogFirstPage(Pageable pageable);
+
+    /**
+     * Catalog page strictly after the (createdAt, id) keyset of the previous page
+     */
+    @Query(SUMMARY_SELECT + "WHERE s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id < :id) ORDER BY s.createdAt DESC, s.id DESC")
+    List<StorySummaryDTO> findCatalogPageAfter(@Param("createdAt") OffsetDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
+    // [id, rating] of every story in creation order, for building the facet index
+    @Query("SELECT s.id, s.rating FROM StoryEntity s ORDER BY s.createdAt, s.id")
+    List<Object[]> findFacetRows();
+
+    // [storyId, genreName] for every story
+    @Query("SELECT s.id, g.name FROM StoryEntity s JOIN s.genres g")
+    List<Object[]> findAllGenreLinks();
+
+    // [storyId, tagName] for every story
+    @Query("SELECT s.id, t.name FROM StoryEntity s JOIN s.tags t")
+    List<Object[]> findAllTagLinks();
+
+    @Query("SELECT s.rating FROM StoryEntity s WHERE s.id = :id")
+    Optional<Double> findRatingById(@Param("id") UUID id);
+
+    // [id, title, authorDisplayName] for building the in-memory title index
+    @Query("SELECT s.id, s.title, s.authorDisplayName FROM StoryEntity s")
+    List<Object[]> findTitleIndexRows();
+
+    // [id, ratingSum, ratingCount, commentCount, chapterCount] read straight from the counter columns
+    @Query("SELECT s.id, s.ratingSum, s.ratingCount, s.commentCount, s.chapterCount FROM StoryEntity s WHERE s.id IN :ids")
+    List<Object[]> findCountersByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Apply a rating change to the maintained sum/count and recompute the average in the same statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stories SET rating_sum = rating_sum + :sumDelta, rating_count = rating_count + :countDelta, "
+        + "rating = CASE WHEN rating_count + :countDelta > 0 "
+        + "THEN CAST(rating_sum + :sumDelta AS DOUBLE PRECISION) / (rating_count + :countDelta) ELSE 0 END "
+        + "WHERE id = :id", nativeQuery = true)
+    int applyRatingDelta(@Param("id") UUID id, @Param("sumDelta") long sumDelta, @Param("countDelta") long countDelta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stories SET comment_count = GREATEST(comment_count + :delta, 0) WHERE id = :id", nativeQuery = true)
+    int adjustCommentCount(@Param("id") UUID id, @Param("delta") long delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stories SET chapter_count = GREATEST(chapter_count + :delta, 0) WHERE id = :id", nativeQuery = true)
+    int adjustChapterCount(@Param("id") UUID id, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stories SET chapter_count = :chapterCount WHERE id = :id", nativeQuery = true)
+    int setChapterCount(@Param("id") UUID id, @Param("chapterCount") int chapterCount);
+
+    /**
+     * Recompute search_vector from the story's current genre/tag links; call once after changing them (V12)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE stories s SET search_vector = story_search_document(s.id, s.title, s.synopsis, "
+        + "s.author_display_name, s.author_username) WHERE s.id = :id", nativeQuery = true)
+    int refreshSearchVector(@Param("id") UUID id);
+
+    /**
+     * Ranked full-text search over stories.search_vector (GIN index, see V6).
+     * tsQuery must already be a valid to_tsquery('simple', ...) expression.
+     */
+    @Query(value = "SELECT s.id FROM stories s WHERE s.search_vector @@ to_tsquery('simple', :tsQuery) "
+        + "ORDER BY ts_rank(s.search_vector, to_tsquery('simple', :tsQuery)) DESC, s.created_at DESC, s.id DESC "
+        + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<UUID> searchByText(@Param("tsQuery") String tsQuery, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * One slice of the Bayesian leaderboard (story_leaderboard, V7), best first
+     */
+    @Query(value = "SELECT l.story_id FROM story_leaderboard l "
+        + "ORDER BY l.score DESC, l.story_id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<UUID> findLeaderboardPage(@Param("limit") int limit, @Param("offset") int offset);
 }
@@ -1,5 +1,7 @@
 package com.danielvflores.writook.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +13,5 @@ import com.danielvflores.writook.entity.TagEntity;
 @Repository
 public interface TagRepository extends JpaRepository<TagEntity, UUID> {
     Optional<TagEntity> findByName(String name);
+    List<TagEntity> findByNameIn(Collection<String> names);
 }
@@ -1,15 +1,31 @@
 package com.danielvflores.writook.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.danielvflores.writook.dto.UserCardDTO;
 import com.danielvflores.writook.entity.UserEntity;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByUsername(String username);
     Optional<UserEntity> findByEmail(String email);
+
+    // Both unique columns in one round trip; a username match wins over an email match (at most two rows)
+    @Query("SELECT u FROM UserEntity u WHERE u.username = :login OR u.email = :login "
+        + "ORDER BY CASE WHEN u.username = :login THEN 0 ELSE 1 END")
+    List<UserEntity> findByUsernameOrEmail(@Param("login") String login);
+
+    boolean existsByUsernameOrEmail(String username, String email);
+
+    @Query("SELECT new com.danielvflores.writook.dto.UserCardDTO(u.id, u.username, u.displayName, u.profilePictureUrl) "
+        + "FROM UserEntity u WHERE u.id IN :ids")
+    List<UserCardDTO> findCardsByIds(@Param("ids") Collection<UUID> ids);
 }
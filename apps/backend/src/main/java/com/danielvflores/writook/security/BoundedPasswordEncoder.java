@@ -0,0 +1,122 @@
+package com.danielvflores.writook.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.danielvflores.writook.utility.LatencyHistogram;
+
+/**
+ * PasswordEncoder que ejecuta el hash (BCrypt) en un pool propio y acotado en lugar de en los hilos de Tomcat.
+ * Con el pool y la cola llenos, o si la espera supera el máximo, falla enseguida con BusyException (503),
+ * así un pico de logins o registros no consume la CPU que necesitan las lecturas de historias.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+
+    private final LatencyHistogram hashLatency = new LatencyHistogram();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMillis) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "password-hashing-" + sequence.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public Metrics metrics() {
+        return new Metrics(executor.getPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+            executor.getQueue().remainingCapacity(), rejected.sum(), timedOut.sum(), hashLatency.snapshot(), queueLatency.snapshot());
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueLatency.recordNanos(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    hashLatency.recordNanos(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            logger.warn("Password hashing queue full ({} queued), rejecting request", executor.getQueue().size());
+            throw new BusyException();
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued: drop it so the worker doesn't hash for a client that already got a 503
+            future.cancel(false);
+            timedOut.increment();
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new BusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Hashing capacity exhausted; callers should answer 503 with Retry-After
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("Servicio de autenticación saturado, inténtalo de nuevo en unos segundos");
+        }
+    }
+
+    public record Metrics(int threads, int active, int queued, int queueRemaining, long rejected, long timedOut,
+            LatencyHistogram.Snapshot hashing, LatencyHistogram.Snapshot queueWait) {}
+}
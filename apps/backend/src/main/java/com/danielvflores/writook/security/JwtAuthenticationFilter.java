@@ -9,14 +9,16 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.danielvflores.writook.model.User;
-import com.danielvflores.writook.service.UserService;
-import com.danielvflores.writook.utility.TokenJWTUtility;
+import com.danielvflores.writook.service.PrincipalService;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private UserService userService;
+    private PrincipalService principalService;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
 
     @Override
     protected void doFilterInternal(jakarta.servlet.http.HttpServletRequest request,
@@ -27,14 +29,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = getJwtFromRequest(request);
 
         if (StringUtils.hasText(token)) {
-            boolean isValid = TokenJWTUtility.validateToken(token);
-            if (isValid) {
-                String usernameOrEmail = TokenJWTUtility.getUsernameFromToken(token);
-                User user = userService.findByUsername(usernameOrEmail);
-                if (user == null) {
-                    user = userService.findByEmail(usernameOrEmail);
-                }
+            String usernameOrEmail = jwtTokenVerifier.verify(token);
+            if (usernameOrEmail != null) {
+                User user = principalService.resolve(usernameOrEmail);
                 if (user != null) {
+                    request.setAttribute(PrincipalService.REQUEST_ATTRIBUTE, user);
                     org.springframework.security.core.userdetails.User userDetails = 
                         new org.springframework.security.core.userdetails.User(
                             user.getUsername(), 
@@ -0,0 +1,79 @@
+package com.danielvflores.writook.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.danielvflores.writook.utility.BoundedCache;
+import com.danielvflores.writook.utility.TokenJWTUtility;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Verifica un JWT una sola vez y recuerda el resultado hasta que expira el token.
+ * La caché se indexa por el SHA-256 del token (no guarda tokens en claro) y solo contiene tokens válidos,
+ * así que un token falso nunca se salta la verificación de la firma.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final BoundedCache<String, VerifiedToken> verified = new BoundedCache<>(MAX_CACHED_TOKENS);
+    private final Function<String, Claims> parser;
+    private final LongSupplier clock;
+
+    public JwtTokenVerifier() {
+        this(TokenJWTUtility::parseClaims, System::currentTimeMillis);
+    }
+
+    // Tests count signature checks and move the clock
+    JwtTokenVerifier(Function<String, Claims> parser, LongSupplier clock) {
+        this.parser = parser;
+        this.clock = clock;
+    }
+
+    /**
+     * Subject (username or email) of a valid, unexpired token; null otherwise
+     */
+    public String verify(String token) {
+        if (!StringUtils.hasText(token)) return null;
+        String key = digest(token);
+        long now = clock.getAsLong();
+
+        VerifiedToken cached = verified.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) return cached.subject();
+            verified.invalidate(key);
+            return null;
+        }
+
+        Claims claims = parser.apply(token);
+        if (claims == null || claims.getSubject() == null) return null;
+        // Tokens without an expiration are still accepted, just never cached
+        if (claims.getExpiration() != null) {
+            verified.put(key, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
+    int cachedTokenCount() {
+        return verified.size();
+    }
+
+    private static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedToken(String subject, long expiresAtMillis) {}
+}
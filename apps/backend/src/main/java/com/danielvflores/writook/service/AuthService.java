@@ -10,6 +10,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.danielvflores.writook.model.User;
+import com.danielvflores.writook.security.BoundedPasswordEncoder;
 
 @Service
 public class AuthService {
@@ -20,18 +21,20 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalService principalService;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     // Basicall Logic for Auth Provisionally - without hashing method for passwords
     public User login(String usernameOrEmail, String password) {
-        User user = userService.getAllUsers().stream()
-            .filter(u -> u.getUsername().equals(usernameOrEmail) || u.getEmail().equals(usernameOrEmail))
-            .findFirst()
-            .orElse(null);
+        User user = userService.findByUsernameOrEmail(usernameOrEmail);
         boolean matches = false;
         if (user != null) {
             try {
                 matches = passwordEncoder.matches(password, user.getPassword());
+            } catch (BoundedPasswordEncoder.BusyException ex) {
+                throw ex;
             } catch (Exception ex) {
                 logger.warn("Error al comparar contraseñas para usuario {}: {}", usernameOrEmail, ex.getMessage());
             }
@@ -44,7 +47,7 @@ public class AuthService {
     }
 
     public User register(String username, String email, String password, String displayName) {
-        if (userExists(username)) {
+        if (userService.existsByUsernameOrEmail(username, email)) {
             throw new RuntimeException("User already exists");
         }
         
@@ -56,11 +59,6 @@ public class AuthService {
         return newUser;
     }
     
-    private boolean userExists(String username) {
-        return userService.getAllUsers().stream()
-            .anyMatch(u -> u.getUsername().equals(username));
-    }
-
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -68,12 +66,11 @@ public class AuthService {
         }
         Object principal = authentication.getPrincipal();
         if (principal instanceof UserDetails userDetails) {
-            String usernameOrEmail = userDetails.getUsername();
-            User user = userService.findByUsername(usernameOrEmail);
-            if (user == null) {
-                user = userService.findByEmail(usernameOrEmail);
+            User attached = principalService.currentRequestUser();
+            if (attached != null && userDetails.getUsername().equals(attached.getUsername())) {
+                return attached;
             }
-            return user;
+            return principalService.resolve(userDetails.getUsername());
         }
         return null;
     }
@@ -1,5 +1,7 @@
 package com.danielvflores.writook.service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -7,17 +9,33 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import com.danielvflores.writook.dto.CursorPageDTO;
+import com.danielvflores.writook.dto.LiveEventDTO;
 import com.danielvflores.writook.model.ChapterComment;
 import com.danielvflores.writook.repository.ChapterCommentRepository;
+import com.danielvflores.writook.utility.CursorUtility;
 
 @Service
 public class ChapterCommentService {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 50;
+
     @Autowired
     private ChapterCommentRepository chapterCommentRepository;
 
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private CommentWriteBehindService commentWriteBehindService;
+
     /**
      * Create a new chapter comment
      */
@@ -30,7 +48,14 @@ public class ChapterCommentService {
         }
 
         ChapterComment comment = new ChapterComment(storyId, chapterNumber, userId, content.trim());
-        return chapterCommentRepository.save(comment);
+        // Set up front because the write-behind batch insert bypasses @PrePersist
+        comment.setCreatedAt(LocalDateTime.now());
+        ChapterComment saved = commentWriteBehindService.isEnabled() && commentWriteBehindService.write(comment)
+            ? comment
+            : chapterCommentRepository.save(comment);
+        trendingService.recordChapterComment(storyId);
+        liveUpdateService.publishChapterEvent(new LiveEventDTO("comment.created", storyId, chapterNumber, saved.getId(), userId, saved.getContent(), null));
+        return saved;
     }
 
     /**
@@ -42,6 +67,32 @@ public class ChapterCommentService {
             storyId, chapterNumber, pageable);
     }
 
+    /**
+     * Get chapter comments newest first with keyset pagination on (created_at, id).
+     * Any page costs the same as the first one and there is no COUNT query.
+     */
+    public CursorPageDTO<ChapterComment> getChapterCommentsPage(UUID storyId, Integer chapterNumber, String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Pageable limit = PageRequest.of(0, pageSize);
+        Slice<ChapterComment> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = chapterCommentRepository.findFirstCommentsSlice(storyId, chapterNumber, limit);
+        } else {
+            CursorUtility.Cursor c = CursorUtility.decode(cursor);
+            try {
+                slice = chapterCommentRepository.findCommentsSliceAfter(storyId, chapterNumber, LocalDateTime.parse(c.sortKey()), c.id(), limit);
+            } catch (DateTimeParseException ex) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+        }
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ChapterComment last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = CursorUtility.encode(last.getCreatedAt().toString(), last.getId());
+        }
+        return new CursorPageDTO<>(slice.getContent(), nextCursor, slice.hasNext());
+    }
+
     /**
      * Update a chapter comment
      */
@@ -64,7 +115,9 @@ public class ChapterCommentService {
         }
 
         comment.setContent(content.trim());
-        return chapterCommentRepository.save(comment);
+        ChapterComment saved = chapterCommentRepository.save(comment);
+        liveUpdateService.publishChapterEvent(new LiveEventDTO("comment.updated", saved.getStoryId(), saved.getChapterNumber(), saved.getId(), userId, saved.getContent(), null));
+        return saved;
     }
 
     /**
@@ -82,6 +135,7 @@ public class ChapterCommentService {
         }
 
         chapterCommentRepository.delete(comment);
+        liveUpdateService.publishChapterEvent(new LiveEventDTO("comment.deleted", comment.getStoryId(), comment.getChapterNumber(), commentId, userId, null, null));
     }
 
     /**
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import com.danielvflores.writook.dto.ChapterStatsDTO;
+import com.danielvflores.writook.dto.LiveEventDTO;
 import com.danielvflores.writook.model.ChapterRating;
 import com.danielvflores.writook.repository.ChapterCommentRepository;
 import com.danielvflores.writook.repository.ChapterRatingRepository;
@@ -23,6 +24,12 @@ public class ChapterRatingService {
     @Autowired
     private ChapterCommentRepository chapterCommentRepository;
 
+    @Autowired
+    private ChapterReaderService chapterReaderService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     /**
      * Create or update a chapter rating
      */
@@ -38,11 +45,15 @@ public class ChapterRatingService {
             // Update existing rating
             ChapterRating rating = existingRating.get();
             rating.setRatingValue(ratingValue);
-            return chapterRatingRepository.save(rating);
+            ChapterRating saved = chapterRatingRepository.save(rating);
+            liveUpdateService.publishChapterEvent(new LiveEventDTO("rating.updated", storyId, chapterNumber, saved.getId(), userId, null, ratingValue));
+            return saved;
         } else {
             // Create new rating
             ChapterRating newRating = new ChapterRating(storyId, chapterNumber, userId, ratingValue);
-            return chapterRatingRepository.save(newRating);
+            ChapterRating saved = chapterRatingRepository.save(newRating);
+            liveUpdateService.publishChapterEvent(new LiveEventDTO("rating.created", storyId, chapterNumber, saved.getId(), userId, null, ratingValue));
+            return saved;
         }
     }
 
@@ -68,6 +79,7 @@ public class ChapterRatingService {
         Optional<ChapterRating> rating = chapterRatingRepository.findById(ratingId);
         if (rating.isPresent() && rating.get().getUserId().equals(userId)) {
             chapterRatingRepository.delete(rating.get());
+            liveUpdateService.publishChapterEvent(new LiveEventDTO("rating.deleted", rating.get().getStoryId(), rating.get().getChapterNumber(), ratingId, userId, null, null));
         } else {
             throw new IllegalArgumentException("Rating not found or user not authorized");
         }
@@ -88,7 +100,8 @@ public class ChapterRatingService {
             averageRating != null ? averageRating : 0.0,
             totalRatings != null ? totalRatings : 0,
             totalComments != null ? totalComments : 0,
-            0 // Views will be implemented later
+            chapterReaderService.estimateChapterReaders(storyId, chapterNumber),
+            chapterReaderService.estimateStoryReaders(storyId)
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.danielvflores.writook.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.utility.BoundedCache;
+import com.danielvflores.writook.utility.HyperLogLog;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Lectores distintos por capítulo y por historia, estimados con un HyperLogLog por capítulo.
+ * Los sketches usados recientemente viven en una caché LRU acotada y se guardan como bytea
+ * (chapter_reader_sketches, V10) periódicamente; solo se expulsan los ya guardados, y se vuelven a cargar
+ * de la tabla cuando hacen falta. El total de la historia es la unión (merge) de sus capítulos y se cachea un momento.
+ */
+@Service
+public class ChapterReaderService {
+
+    // ~2 KB each, so about 20 MB of sketches at most (plus dirty ones waiting for the next flush)
+    private static final int MAX_CACHED_SKETCHES = 10_000;
+    private static final int MAX_CACHED_STORY_ESTIMATES = 10_000;
+    private static final Duration STORY_ESTIMATE_TTL = Duration.ofSeconds(30);
+
+    // Cached for chapters with no persisted sketch, so unread chapters don't query the table on every stats call
+    private static final HyperLogLog NONE = new HyperLogLog();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(ChapterReaderService.class);
+
+    // Everything below is guarded by the sketches monitor; database I/O always happens outside it
+    private final LinkedHashMap<ChapterKey, HyperLogLog> sketches = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, Set<Integer>> cachedChaptersByStory = new HashMap<>();
+    // Reads since the last successful flush; a flush only clears the entries nobody touched meanwhile
+    private final Map<ChapterKey, Integer> dirty = new HashMap<>();
+
+    private final BoundedCache<UUID, Long> storyEstimates = new BoundedCache<>(MAX_CACHED_STORY_ESTIMATES, STORY_ESTIMATE_TTL);
+
+    public void recordRead(UUID storyId, int chapterNumber, String readerId) {
+        ChapterKey key = new ChapterKey(storyId, chapterNumber);
+        synchronized (sketches) {
+            HyperLogLog cached = sketches.get(key);
+            if (cached != null) {
+                record(key, cached, readerId);
+                return;
+            }
+        }
+        HyperLogLog persisted = loadSketch(key);
+        synchronized (sketches) {
+            // Another read may have loaded (and already updated) it while we were querying
+            HyperLogLog cached = sketches.get(key);
+            record(key, cached != null ? cached : persisted, readerId);
+        }
+    }
+
+    public long estimateChapterReaders(UUID storyId, int chapterNumber) {
+        ChapterKey key = new ChapterKey(storyId, chapterNumber);
+        synchronized (sketches) {
+            HyperLogLog cached = sketches.get(key);
+            if (cached != null) return cached.estimate();
+        }
+        HyperLogLog persisted = loadSketch(key);
+        synchronized (sketches) {
+            HyperLogLog cached = sketches.get(key);
+            if (cached != null) return cached.estimate();
+            cache(key, persisted);
+            return persisted.estimate();
+        }
+    }
+
+    /**
+     * Distinct readers of any chapter of the story: persisted sketches merged with the cached ones
+     * (which already contain what was persisted), kept for a few seconds since the stats are polled
+     */
+    public long estimateStoryReaders(UUID storyId) {
+        Long cached = storyEstimates.get(storyId);
+        if (cached != null) return cached;
+
+        Map<Integer, HyperLogLog> byChapter = new HashMap<>();
+        jdbcTemplate.query("SELECT chapter_number, sketch FROM chapter_reader_sketches WHERE story_id = ?",
+            rs -> { byChapter.put(rs.getInt(1), HyperLogLog.fromBytes(rs.getBytes(2))); }, storyId);
+        synchronized (sketches) {
+            for (int chapter : cachedChaptersByStory.getOrDefault(storyId, Set.of())) {
+                HyperLogLog sketch = sketches.get(new ChapterKey(storyId, chapter));
+                if (sketch != NONE) byChapter.put(chapter, sketch);
+            }
+        }
+        HyperLogLog union = new HyperLogLog();
+        byChapter.values().forEach(union::merge);
+        long estimate = byChapter.isEmpty() ? 0 : union.estimate();
+        storyEstimates.put(storyId, estimate);
+        return estimate;
+    }
+
+    @Scheduled(fixedDelayString = "${writook.readers.flush-interval-ms:60000}", initialDelayString = "${writook.readers.flush-interval-ms:60000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        Map<ChapterKey, Integer> flushed = new HashMap<>();
+        synchronized (sketches) {
+            dirty.forEach((key, reads) -> {
+                rows.add(new Object[] { key.storyId(), key.chapterNumber(), sketches.get(key).toBytes(), key.storyId() });
+                flushed.put(key, reads);
+            });
+        }
+        if (rows.isEmpty()) return;
+        try {
+            // The cached sketch already contains the persisted one (loaded on first use), so it replaces it.
+            // Sketches of stories deleted meanwhile are skipped instead of failing the batch.
+            jdbcTemplate.batchUpdate("INSERT INTO chapter_reader_sketches (story_id, chapter_number, sketch, updated_at) "
+                + "SELECT ?, ?, ?, now() WHERE EXISTS (SELECT 1 FROM stories WHERE id = ?) "
+                + "ON CONFLICT (story_id, chapter_number) DO UPDATE SET sketch = EXCLUDED.sketch, updated_at = now()", rows);
+            synchronized (sketches) {
+                // Now clean, so evictable, unless it was read again after the snapshot
+                flushed.forEach(dirty::remove);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not persist {} chapter reader sketches: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Caller holds the sketches monitor
+    private void record(ChapterKey key, HyperLogLog sketch, String readerId) {
+        HyperLogLog target = sketch == NONE ? new HyperLogLog() : sketch;
+        target.add(readerId);
+        dirty.merge(key, 1, Integer::sum);
+        cache(key, target);
+    }
+
+    // Caller holds the sketches monitor. Evicts least recently used sketches, skipping the unpersisted ones.
+    private void cache(ChapterKey key, HyperLogLog sketch) {
+        if (sketches.put(key, sketch) == null) {
+            cachedChaptersByStory.computeIfAbsent(key.storyId(), id -> new HashSet<>()).add(key.chapterNumber());
+        }
+        Iterator<ChapterKey> eldest = sketches.keySet().iterator();
+        while (sketches.size() > MAX_CACHED_SKETCHES && eldest.hasNext()) {
+            ChapterKey candidate = eldest.next();
+            if (dirty.containsKey(candidate)) continue;
+            eldest.remove();
+            Set<Integer> chapters = cachedChaptersByStory.get(candidate.storyId());
+            chapters.remove(candidate.chapterNumber());
+            if (chapters.isEmpty()) cachedChaptersByStory.remove(candidate.storyId());
+        }
+    }
+
+    private HyperLogLog loadSketch(ChapterKey key) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT sketch FROM chapter_reader_sketches WHERE story_id = ? AND chapter_number = ?",
+            (rs, i) -> rs.getBytes(1), key.storyId(), key.chapterNumber());
+        return rows.isEmpty() ? NONE : HyperLogLog.fromBytes(rows.get(0));
+    }
+
+    private record ChapterKey(UUID storyId, int chapterNumber) {}
+}
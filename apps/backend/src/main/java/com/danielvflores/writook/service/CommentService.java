@@ -9,10 +9,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.danielvflores.writook.dto.LiveEventDTO;
 import com.danielvflores.writook.model.Comment;
 import com.danielvflores.writook.repository.CommentRepository;
+import com.danielvflores.writook.repository.StoryRepository;
 
 @Service
 @Transactional
@@ -21,6 +25,26 @@ public class CommentService {
     @Autowired
     private CommentRepository commentRepository;
 
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
+    @Autowired
+    private CommentWriteBehindService commentWriteBehindService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Runs outside the class transaction so a request waiting for its write-behind batch holds no connection;
+     * the synchronous path opens its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Comment createComment(UUID storyId, UUID userId, String content) {
         if (content == null || content.trim().isEmpty()) {
             throw new IllegalArgumentException("Comment content cannot be empty");
@@ -31,7 +55,21 @@ public class CommentService {
         }
 
         Comment comment = new Comment(storyId, userId, content.trim());
-        return commentRepository.save(comment);
+        if (commentWriteBehindService.isEnabled() && commentWriteBehindService.write(comment)) {
+            publishCreated(comment);
+            return comment;
+        }
+        return transactionTemplate.execute(status -> {
+            Comment saved = commentRepository.save(comment);
+            storyRepository.adjustCommentCount(storyId, 1);
+            publishCreated(saved);
+            return saved;
+        });
+    }
+
+    private void publishCreated(Comment comment) {
+        trendingService.recordComment(comment.getStoryId());
+        liveUpdateService.publishStoryEvent(new LiveEventDTO("comment.created", comment.getStoryId(), null, comment.getId(), comment.getUserId(), comment.getContent(), null));
     }
 
     public Page<Comment> getStoryComments(UUID storyId, int page, int size) {
@@ -77,7 +115,9 @@ public class CommentService {
         }
 
         comment.setContent(newContent.trim());
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        liveUpdateService.publishStoryEvent(new LiveEventDTO("comment.updated", saved.getStoryId(), null, saved.getId(), userId, saved.getContent(), null));
+        return saved;
     }
 
     public boolean deleteComment(UUID commentId, UUID userId) {
@@ -94,6 +134,8 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        storyRepository.adjustCommentCount(comment.getStoryId(), -1);
+        liveUpdateService.publishStoryEvent(new LiveEventDTO("comment.deleted", comment.getStoryId(), null, commentId, userId, null, null));
         return true;
     }
 
@@ -0,0 +1,220 @@
+package com.danielvflores.writook.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.model.ChapterComment;
+import com.danielvflores.writook.model.Comment;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Modo opcional (writook.comments.write-behind.enabled) que agrupa las inserciones de comentarios: cada petición
+ * deja su fila en una cola acotada y un único hilo escritor las inserta juntas en un INSERT multi-fila cada pocos
+ * milisegundos. La petición espera a que su lote haga commit antes de responder, así un 201 nunca se pierde.
+ * Si la cola está llena o el escritor parado, write() devuelve false y el llamador guarda la fila él mismo.
+ */
+@Service
+public class CommentWriteBehindService {
+
+    // An idle writer wakes up this often to notice shutdown
+    private static final long POLL_MS = 100;
+
+    @Value("${writook.comments.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${writook.comments.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${writook.comments.write-behind.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${writook.comments.write-behind.linger-ms:5}")
+    private long lingerMillis;
+
+    @Value("${writook.comments.write-behind.ack-timeout-ms:10000}")
+    private long ackTimeoutMillis;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(CommentWriteBehindService.class);
+
+    private ArrayBlockingQueue<PendingWrite> queue;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::writeLoop, "comment-write-behind");
+        writer.start();
+        logger.info("Comment write-behind enabled: batches of up to {} rows, {} ms linger", maxBatch, lingerMillis);
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues the story comment and blocks until its batch is committed (comment_count included).
+     * False when it was not queued and the caller must store it synchronously.
+     */
+    public boolean write(Comment comment) {
+        return submit(new PendingWrite(comment, null));
+    }
+
+    /**
+     * Queues the chapter comment and blocks until its batch is committed.
+     * False when it was not queued and the caller must store it synchronously.
+     */
+    public boolean write(ChapterComment comment) {
+        return submit(new PendingWrite(null, comment));
+    }
+
+    // Stops taking new rows, then lets the writer drain and commit everything already queued
+    @PreDestroy
+    public void shutdown() {
+        if (!running) return;
+        running = false;
+        try {
+            writer.join(ackTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) logger.warn("Comment write-behind did not drain in time, {} rows still queued", queue.size());
+    }
+
+    private boolean submit(PendingWrite write) {
+        if (!running || !queue.offer(write)) return false;
+        try {
+            write.done.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // The row may still be committed later; the client only learns that it wasn't confirmed
+            throw new IllegalStateException("Timed out waiting for the comment to be stored");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the comment to be stored");
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(POLL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) break;
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Only a forced JVM shutdown interrupts the writer; commit what we hold and stop
+                running = false;
+            }
+            flush(batch);
+            batch.clear();
+        }
+        // A caller may have passed the running check just before shutdown
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) flush(batch);
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<PendingWrite> storyComments = new ArrayList<>();
+        List<PendingWrite> chapterComments = new ArrayList<>();
+        for (PendingWrite write : batch) {
+            (write.comment != null ? storyComments : chapterComments).add(write);
+        }
+        if (!storyComments.isEmpty()) insert(storyComments, true);
+        if (!chapterComments.isEmpty()) insert(chapterComments, false);
+    }
+
+    // Each statement commits on its own (autocommit), so an acknowledged row is durable
+    private void insert(List<PendingWrite> rows, boolean storyComments) {
+        try {
+            jdbcTemplate.update(storyComments ? commentsSql(rows.size()) : chapterCommentsSql(rows.size()), flatten(rows));
+            rows.forEach(w -> w.done.complete(null));
+        } catch (Exception e) {
+            if (rows.size() == 1) {
+                rows.get(0).done.completeExceptionally(e);
+                return;
+            }
+            // One bad row (e.g. a story deleted meanwhile) must not fail its whole batch
+            logger.warn("Comment batch of {} rows failed, retrying row by row: {}", rows.size(), e.getMessage());
+            for (PendingWrite row : rows) insert(List.of(row), storyComments);
+        }
+    }
+
+    private static String commentsSql(int rows) {
+        StringBuilder sql = new StringBuilder("WITH inserted AS (INSERT INTO comments (id, story_id, user_id, content, created_at) VALUES ");
+        values(sql, rows, "(CAST(? AS UUID), CAST(? AS UUID), CAST(? AS UUID), ?, ?)");
+        return sql.append(" RETURNING story_id) UPDATE stories s SET comment_count = s.comment_count + c.added")
+            .append(" FROM (SELECT story_id, COUNT(*) AS added FROM inserted GROUP BY story_id) c WHERE s.id = c.story_id")
+            .toString();
+    }
+
+    private static String chapterCommentsSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO chapter_comments (id, story_id, chapter_number, user_id, content, created_at) VALUES ");
+        values(sql, rows, "(CAST(? AS UUID), CAST(? AS UUID), ?, CAST(? AS UUID), ?, ?)");
+        return sql.toString();
+    }
+
+    private static void values(StringBuilder sql, int rows, String row) {
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append(row);
+        }
+    }
+
+    private static Object[] flatten(List<PendingWrite> rows) {
+        List<Object> args = new ArrayList<>(rows.size() * 6);
+        for (PendingWrite w : rows) {
+            if (w.comment != null) {
+                Comment c = w.comment;
+                Collections.addAll(args, c.getId(), c.getStoryId(), c.getUserId(), c.getContent(), c.getCreatedAt());
+            } else {
+                ChapterComment c = w.chapterComment;
+                Collections.addAll(args, c.getId(), c.getStoryId(), c.getChapterNumber(), c.getUserId(), c.getContent(), c.getCreatedAt());
+            }
+        }
+        return args.toArray();
+    }
+
+    private static final class PendingWrite {
+        private final Comment comment;
+        private final ChapterComment chapterComment;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingWrite(Comment comment, ChapterComment chapterComment) {
+            this.comment = comment;
+            this.chapterComment = chapterComment;
+        }
+    }
+}
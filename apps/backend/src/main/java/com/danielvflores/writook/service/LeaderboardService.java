@@ -0,0 +1,33 @@
+package com.danielvflores.writook.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class LeaderboardService {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    /**
+     * Recompute story_leaderboard (V7). CONCURRENTLY keeps the old ranking readable while it refreshes.
+     * Only the view's owner may refresh it: V13 hands it to writook_user, otherwise the application must
+     * connect with the same role that ran the migrations.
+     */
+    @Scheduled(fixedDelayString = "${writook.leaderboard.refresh-interval-ms:300000}", initialDelayString = "${writook.leaderboard.refresh-interval-ms:300000}")
+    public void refresh() {
+        long start = System.currentTimeMillis();
+        try {
+            jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY story_leaderboard");
+            logger.info("Story leaderboard refreshed in {} ms", System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.warn("Could not refresh story leaderboard: {}", e.getMessage());
+        }
+    }
+}
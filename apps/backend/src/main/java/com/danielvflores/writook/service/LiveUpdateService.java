@@ -0,0 +1,180 @@
+package com.danielvflores.writook.service;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.danielvflores.writook.dto.LiveEventDTO;
+import com.danielvflores.writook.utility.TransactionUtility;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Actualizaciones en vivo (SSE) de comentarios y valoraciones por historia o por capítulo.
+ * Las conexiones abiertas son asíncronas y no ocupan ningún hilo mientras están inactivas. Cada suscriptor
+ * tiene un buffer acotado que se vacía en un hilo virtual; si un cliente lento lo llena, se le desconecta
+ * en lugar de frenar a los demás. Los eventos se publican solo cuando la escritura hace commit.
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final int BUFFER_PER_SUBSCRIBER = 32;
+    // Must stay below server.tomcat.max-connections, which also has to fit ordinary requests
+    private static final int MAX_SUBSCRIBERS = 50_000;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // Queued like an event so heartbeats also respect the buffer and detect dead connections
+    private static final Object HEARTBEAT = new Object();
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private final ConcurrentHashMap<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribeToStory(UUID storyId) {
+        return subscribe(storyTopic(storyId));
+    }
+
+    public SseEmitter subscribeToChapter(UUID storyId, int chapterNumber) {
+        return subscribe(chapterTopic(storyId, chapterNumber));
+    }
+
+    public void publishStoryEvent(LiveEventDTO event) {
+        String topic = storyTopic(event.getStoryId());
+        TransactionUtility.afterCommit(() -> publish(topic, event));
+    }
+
+    public void publishChapterEvent(LiveEventDTO event) {
+        String topic = chapterTopic(event.getStoryId(), event.getChapterNumber());
+        TransactionUtility.afterCommit(() -> publish(topic, event));
+    }
+
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    // Keeps idle connections open through proxies and drops the ones whose client went away
+    @Scheduled(fixedDelayString = "${writook.live.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        topics.values().forEach(set -> set.forEach(s -> s.offer(HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        topics.values().forEach(set -> set.forEach(Subscriber::close));
+        delivery.shutdownNow();
+    }
+
+    private SseEmitter subscribe(String topic) {
+        if (subscribers.incrementAndGet() > MAX_SUBSCRIBERS) {
+            subscribers.decrementAndGet();
+            throw new IllegalStateException("Demasiadas conexiones en vivo, inténtalo más tarde");
+        }
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(topic, emitter);
+        // Added inside compute so a concurrent unregister can't drop the set we are adding to
+        topics.compute(topic, (t, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        emitter.onCompletion(subscriber::unregister);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    // Overridable so tests can stand in for the servlet connection
+    protected SseEmitter newEmitter() {
+        return new SseEmitter(EMITTER_TIMEOUT_MS);
+    }
+
+    private void publish(String topic, LiveEventDTO event) {
+        Set<Subscriber> set = topics.get(topic);
+        if (set != null) set.forEach(s -> s.offer(event));
+    }
+
+    private static String storyTopic(UUID storyId) {
+        return "story:" + storyId;
+    }
+
+    private static String chapterTopic(UUID storyId, int chapterNumber) {
+        return "chapter:" + storyId + ":" + chapterNumber;
+    }
+
+    private final class Subscriber {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Object> buffer = new ArrayBlockingQueue<>(BUFFER_PER_SUBSCRIBER);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean registered = new AtomicBoolean(true);
+
+        private Subscriber(String topic, SseEmitter emitter) {
+            this.topic = topic;
+            this.emitter = emitter;
+        }
+
+        // Never blocks the publisher: a full buffer means the client can't keep up
+        void offer(Object item) {
+            if (!registered.get()) return;
+            if (!buffer.offer(item)) {
+                logger.debug("Dropping slow live-update subscriber on {}", topic);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) delivery.execute(this::drain);
+        }
+
+        // One drain per subscriber at a time, so events keep their order
+        private void drain() {
+            try {
+                do {
+                    Object item;
+                    while ((item = buffer.poll()) != null) {
+                        if (item == HEARTBEAT) {
+                            emitter.send(SseEmitter.event().comment("ping"));
+                        } else {
+                            LiveEventDTO event = (LiveEventDTO) item;
+                            emitter.send(SseEmitter.event().name(event.getType()).data(event, MediaType.APPLICATION_JSON));
+                        }
+                    }
+                    draining.set(false);
+                    // Something may have been offered after the last poll but before the flag was cleared
+                } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                draining.set(false);
+                close();
+            }
+        }
+
+        void close() {
+            if (unregister()) emitter.complete();
+        }
+
+        boolean unregister() {
+            if (!registered.compareAndSet(true, false)) return false;
+            subscribers.decrementAndGet();
+            topics.computeIfPresent(topic, (t, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            buffer.clear();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.danielvflores.writook.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.danielvflores.writook.entity.UserEntity;
+import com.danielvflores.writook.model.User;
+import com.danielvflores.writook.repository.UserRepository;
+import com.danielvflores.writook.utility.BoundedCache;
+
+/**
+ * Resuelve el usuario autenticado (username o email del token) con una sola consulta y lo cachea un tiempo corto,
+ * incluidos los logins que no existen. JwtAuthenticationFilter deja el usuario resuelto en la petición para que
+ * el resto del código no vuelva a buscarlo. UserService invalida las entradas al crear, actualizar o borrar usuarios.
+ */
+@Service
+public class PrincipalService {
+
+    public static final String REQUEST_ATTRIBUTE = PrincipalService.class.getName() + ".USER";
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final Duration USER_TTL = Duration.ofMinutes(5);
+    // Short, so a user that registers right after a failed lookup is found soon even without invalidation
+    private static final Duration MISSING_TTL = Duration.ofSeconds(30);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BoundedCache<String, User> users = new BoundedCache<>(MAX_CACHED_USERS, USER_TTL);
+    private final BoundedCache<String, Boolean> missing = new BoundedCache<>(MAX_CACHED_USERS, MISSING_TTL);
+
+    /**
+     * User whose username (preferred) or email is the given login, or null
+     */
+    public User resolve(String usernameOrEmail) {
+        if (usernameOrEmail == null) return null;
+        User cached = users.get(usernameOrEmail);
+        if (cached != null) return cached;
+        if (missing.get(usernameOrEmail) != null) return null;
+
+        List<UserEntity> found = userRepository.findByUsernameOrEmail(usernameOrEmail);
+        if (found.isEmpty()) {
+            missing.put(usernameOrEmail, Boolean.TRUE);
+            return null;
+        }
+        User user = UserService.entityToModel(found.get(0));
+        users.put(usernameOrEmail, user);
+        return user;
+    }
+
+    /**
+     * User resolved by JwtAuthenticationFilter for the current request, if any
+     */
+    public User currentRequestUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+        Object user = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return user instanceof User u ? u : null;
+    }
+
+    /**
+     * Drops every entry that may point at (or miss) a user with these logins
+     */
+    public void invalidate(String... logins) {
+        for (String login : logins) {
+            if (login == null) continue;
+            users.invalidate(login);
+            missing.invalidate(login);
+        }
+    }
+}
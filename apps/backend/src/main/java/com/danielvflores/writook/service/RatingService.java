@@ -8,8 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.danielvflores.writook.dto.LiveEventDTO;
 import com.danielvflores.writook.model.Rating;
 import com.danielvflores.writook.repository.RatingRepository;
+import com.danielvflores.writook.repository.StoryRepository;
 
 @Service
 @Transactional
@@ -18,6 +20,18 @@ public class RatingService {
     @Autowired
     private RatingRepository ratingRepository;
 
+    @Autowired
+    private StoryRepository storyRepository;
+
+    @Autowired
+    private StoryFacetService storyFacetService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private LiveUpdateService liveUpdateService;
+
     public Rating rateStory(UUID storyId, UUID userId, Integer ratingValue) {
         if (ratingValue < 1 || ratingValue > 5) {
             throw new IllegalArgumentException("Rating must be between 1 and 5");
@@ -27,11 +41,21 @@ public class RatingService {
         
         if (existingRating.isPresent()) {
             Rating rating = existingRating.get();
+            int previousValue = rating.getRatingValue();
             rating.setRatingValue(ratingValue);
-            return ratingRepository.save(rating);
+            Rating saved = ratingRepository.save(rating);
+            storyRepository.applyRatingDelta(storyId, ratingValue - previousValue, 0);
+            storyFacetService.refreshRating(storyId);
+            liveUpdateService.publishStoryEvent(new LiveEventDTO("rating.updated", storyId, null, saved.getId(), userId, null, ratingValue));
+            return saved;
         } else {
             Rating newRating = new Rating(storyId, userId, ratingValue);
-            return ratingRepository.save(newRating);
+            Rating saved = ratingRepository.save(newRating);
+            storyRepository.applyRatingDelta(storyId, ratingValue, 1);
+            storyFacetService.refreshRating(storyId);
+            trendingService.recordRating(storyId, ratingValue);
+            liveUpdateService.publishStoryEvent(new LiveEventDTO("rating.created", storyId, null, saved.getId(), userId, null, ratingValue));
+            return saved;
         }
     }
 
@@ -56,6 +80,9 @@ public class RatingService {
         Optional<Rating> rating = ratingRepository.findByStoryIdAndUserId(storyId, userId);
         if (rating.isPresent()) {
             ratingRepository.delete(rating.get());
+            storyRepository.applyRatingDelta(storyId, -rating.get().getRatingValue(), -1);
+            storyFacetService.refreshRating(storyId);
+            liveUpdateService.publishStoryEvent(new LiveEventDTO("rating.deleted", storyId, null, rating.get().getId(), userId, null, null));
             return true;
         }
         return false;
@@ -0,0 +1,106 @@
+package com.danielvflores.writook.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.repository.StoryRepository;
+import com.danielvflores.writook.utility.FacetIndex;
+import com.danielvflores.writook.utility.TransactionUtility;
+
+@Service
+public class StoryFacetService {
+
+    private static final int MAX_FACET_VALUES = 50;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryFacetService.class);
+
+    private volatile FacetIndex index = new FacetIndex();
+
+    // Non-null while a rebuild runs: updates committed meanwhile are replayed onto the new index before the swap
+    private final Object rebuildLock = new Object();
+    private List<Consumer<FacetIndex>> updatesDuringRebuild;
+
+    /**
+     * Build the genre/tag bitmaps from the join tables, once at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        FacetIndex fresh = new FacetIndex();
+        try {
+            Map<UUID, List<String>> genres = group(storyRepository.findAllGenreLinks());
+            Map<UUID, List<String>> tags = group(storyRepository.findAllTagLinks());
+            for (Object[] row : storyRepository.findFacetRows()) {
+                UUID id = (UUID) row[0];
+                fresh.put(id, genres.get(id), tags.get(id), ((Number) row[1]).doubleValue());
+            }
+            synchronized (rebuildLock) {
+                updatesDuringRebuild.forEach(update -> update.accept(fresh));
+                index = fresh;
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+        logger.info("Story facet index built: {} stories in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add or refresh a story's genres/tags once the current transaction commits
+     */
+    public void indexStory(UUID storyId, Collection<String> genres, Collection<String> tags, double rating) {
+        List<String> g = TaxonomyService.normalizeNames(genres);
+        List<String> t = TaxonomyService.normalizeNames(tags);
+        TransactionUtility.afterCommit(() -> apply(i -> i.put(storyId, g, t, rating)));
+    }
+
+    public void removeStory(UUID storyId) {
+        TransactionUtility.afterCommit(() -> apply(i -> i.remove(storyId)));
+    }
+
+    /**
+     * Re-read the story's average (already updated in this transaction) for the minRating filter
+     */
+    public void refreshRating(UUID storyId) {
+        storyRepository.findRatingById(storyId).ifPresent(rating ->
+            TransactionUtility.afterCommit(() -> apply(i -> i.setRating(storyId, rating))));
+    }
+
+    public FacetIndex.Result browse(Collection<String> genres, Collection<String> tags, boolean matchAll, Double minRating, int offset, int limit) {
+        return index.query(genres, tags, matchAll, minRating, offset, limit, MAX_FACET_VALUES);
+    }
+
+    private void apply(Consumer<FacetIndex> update) {
+        synchronized (rebuildLock) {
+            update.accept(index);
+            if (updatesDuringRebuild != null) updatesDuringRebuild.add(update);
+        }
+    }
+
+    private static Map<UUID, List<String>> group(List<Object[]> rows) {
+        Map<UUID, List<String>> byStory = new HashMap<>();
+        for (Object[] row : rows) {
+            byStory.computeIfAbsent((UUID) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return byStory;
+    }
+}
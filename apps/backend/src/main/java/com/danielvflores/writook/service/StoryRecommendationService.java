@@ -0,0 +1,80 @@
+package com.danielvflores.writook.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.danielvflores.writook.utility.ItemSimilarity;
+
+/**
+ * Recomendaciones "a quienes les gustó esta historia también les gustó...": similitud coseno entre historias
+ * según los usuarios que las valoraron con 4 o 5 estrellas. La matriz se recalcula en segundo plano y solo se
+ * guardan en memoria los N vecinos más parecidos de cada historia; servirlos no consulta la base de datos.
+ */
+@Service
+public class StoryRecommendationService {
+
+    // Ratings at or above this value count as a "like"
+    private static final int LIKE_THRESHOLD = 4;
+    private static final int NEIGHBOURS_PER_STORY = 50;
+    // Pairs liked together by a single user are too noisy to recommend
+    private static final int MIN_CO_LIKES = 2;
+    // Bounds the pair work (and sampling bias) of users who liked thousands of stories
+    private static final int MAX_LIKES_PER_USER = 500;
+    private static final int FETCH_SIZE = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryRecommendationService.class);
+
+    private volatile ItemSimilarity similarity = ItemSimilarity.empty();
+
+    /**
+     * Streams every like grouped by user (idx_ratings_user_likes, V11) with a server-side cursor and swaps in
+     * the new neighbour lists when done. Runs on the scheduler thread; readers keep the previous snapshot.
+     */
+    @Scheduled(fixedDelayString = "${writook.recommendations.refresh-interval-ms:3600000}", initialDelay = 30_000)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ItemSimilarity.Builder builder = new ItemSimilarity.Builder(MAX_LIKES_PER_USER);
+        List<UUID> userLikes = new ArrayList<>();
+        UUID[] currentUser = new UUID[1];
+
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT user_id, story_id FROM ratings WHERE rating_value >= ? ORDER BY user_id");
+            ps.setInt(1, LIKE_THRESHOLD);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, rs -> {
+            UUID userId = rs.getObject(1, UUID.class);
+            if (!userId.equals(currentUser[0])) {
+                builder.addUser(userLikes);
+                userLikes.clear();
+                currentUser[0] = userId;
+            }
+            userLikes.add(rs.getObject(2, UUID.class));
+        });
+        builder.addUser(userLikes);
+
+        ItemSimilarity fresh = builder.build(NEIGHBOURS_PER_STORY, MIN_CO_LIKES);
+        similarity = fresh;
+        logger.info("Story similarities rebuilt: {} stories in {} ms", fresh.itemCount(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Most similar stories first; empty until the story has enough likes in common with others
+     */
+    public List<UUID> similarStories(UUID storyId, int limit) {
+        return similarity.neighboursOf(storyId, limit);
+    }
+}
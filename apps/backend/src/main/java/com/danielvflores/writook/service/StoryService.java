@@ -1,14 +1,28 @@
 package com.danielvflores.writook.service;
 
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.danielvflores.writook.dto.AuthorDTO;
+import com.danielvflores.writook.dto.ChapterContentDTO;
+import com.danielvflores.writook.dto.ChapterSummaryDTO;
+import com.danielvflores.writook.dto.CursorPageDTO;
+import com.danielvflores.writook.dto.StoryBrowseDTO;
+import com.danielvflores.writook.dto.StorySummaryDTO;
 import com.danielvflores.writook.entity.ChapterEntity;
 import com.danielvflores.writook.entity.StoryEntity;
 import com.danielvflores.writook.model.Chapter;
@@ -16,10 +30,17 @@ import com.danielvflores.writook.model.Story;
 import com.danielvflores.writook.model.User;
 import com.danielvflores.writook.repository.ChapterRepository;
 import com.danielvflores.writook.repository.StoryRepository;
+import com.danielvflores.writook.security.JwtTokenVerifier;
+import com.danielvflores.writook.utility.CursorUtility;
+import com.danielvflores.writook.utility.DecayingTopK;
+import com.danielvflores.writook.utility.FacetIndex;
 
 @Service
 public class StoryService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private StoryRepository storyRepository;
 
@@ -27,32 +48,48 @@ public class StoryService {
     private ChapterRepository chapterRepository;
 
     @Autowired
-    private com.danielvflores.writook.repository.GenreRepository genreRepository;
-
-    @Autowired
-    private com.danielvflores.writook.repository.TagRepository tagRepository;
+    private TaxonomyService taxonomyService;
 
     @Autowired
-    private com.danielvflores.writook.repository.CommentRepository commentRepository;
+    private CommentService commentService;
 
     public void addComment(String storyId, String chapterId, String authorId, String content) {
+        UUID sId;
+        UUID authorUuid;
         try {
-            UUID sId = UUID.fromString(storyId);
-            UUID authorUuid = UUID.fromString(authorId);
-            
-            // Usar el nuevo sistema de comentarios
-            com.danielvflores.writook.model.Comment comment = 
-                new com.danielvflores.writook.model.Comment(sId, authorUuid, content);
-            commentRepository.save(comment);
-            
+            sId = UUID.fromString(storyId);
+            authorUuid = UUID.fromString(authorId);
         } catch (IllegalArgumentException ex) {
             throw new RuntimeException("ID inválido");
         }
+        // Usar el nuevo sistema de comentarios (mantiene comment_count)
+        commentService.createComment(sId, authorUuid, content);
     }
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private StoryTitleSearchService storyTitleSearchService;
+
+    @Autowired
+    private StoryFacetService storyFacetService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private StoryRecommendationService storyRecommendationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @Autowired
+    private PrincipalService principalService;
+
     public StoryService() {}
 
     private static Story entityToModel(StoryEntity e) {
@@ -82,8 +119,72 @@ public class StoryService {
         return e;
     }
 
-    public List<Story> getAllStories() {
-        return storyRepository.findAll().stream().map(StoryService::entityToModel).collect(Collectors.toList());
+    /**
+     * Página del catálogo ordenada por (created_at, id) descendente.
+     * El cursor es opaco y sale de la última historia de la página anterior.
+     */
+    public CursorPageDTO<StorySummaryDTO> getStoriesPage(String cursor, int size) {
+        List<StorySummaryDTO> rows = findCatalogRows(cursor, size);
+        int pageSize = clampPageSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<StorySummaryDTO> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? catalogCursor(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(withGenresAndTags(page), nextCursor, hasNext);
+    }
+
+    // Fetches one extra row so we know whether there is a next page without a COUNT(*)
+    private List<StorySummaryDTO> findCatalogRows(String cursor, int size) {
+        PageRequest limit = PageRequest.of(0, clampPageSize(size) + 1);
+        if (cursor == null || cursor.isBlank()) {
+            return storyRepository.findCatalogFirstPage(limit);
+        }
+        CursorUtility.Cursor c = CursorUtility.decode(cursor);
+        try {
+            return storyRepository.findCatalogPageAfter(OffsetDateTime.parse(c.sortKey()), c.id(), limit);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private static String catalogCursor(StorySummaryDTO s) {
+        return CursorUtility.encode(s.getCreatedAt().toString(), UUID.fromString(s.getId()));
+    }
+
+    /**
+     * Rellena géneros y etiquetas de una página de resúmenes con una consulta por colección
+     */
+    private List<StorySummaryDTO> withGenresAndTags(List<StorySummaryDTO> summaries) {
+        if (summaries.isEmpty()) return summaries;
+        List<UUID> ids = summaries.stream().map(s -> UUID.fromString(s.getId())).collect(Collectors.toList());
+        Map<UUID, List<String>> genres = groupNames(storyRepository.findGenreNamesByStoryIds(ids));
+        Map<UUID, List<String>> tags = groupNames(storyRepository.findTagNamesByStoryIds(ids));
+        for (StorySummaryDTO s : summaries) {
+            UUID id = UUID.fromString(s.getId());
+            s.setGenres(genres.getOrDefault(id, List.of()));
+            s.setTags(tags.getOrDefault(id, List.of()));
+        }
+        return summaries;
+    }
+
+    private static Map<UUID, List<String>> groupNames(List<Object[]> rows) {
+        Map<UUID, List<String>> byStory = new HashMap<>();
+        for (Object[] row : rows) {
+            byStory.computeIfAbsent((UUID) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+        return byStory;
+    }
+
+    // Resúmenes en el mismo orden que ids (búsqueda, ranking); los que ya no existen se omiten
+    private List<StorySummaryDTO> summariesInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<UUID, StorySummaryDTO> byId = storyRepository.findSummariesByIds(ids).stream()
+            .collect(Collectors.toMap(s -> UUID.fromString(s.getId()), s -> s));
+        return withGenresAndTags(ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
+    private static int clampPageSize(int size) {
+        if (size <= 0) return DEFAULT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
     public Story getStoryById(String id) {
@@ -95,6 +196,7 @@ public class StoryService {
         }
     }
 
+    @Transactional
     public Story createStory(Story story) {
         StoryEntity e = modelToEntity(story);
         // try to resolve author id from existing users
@@ -104,34 +206,12 @@ public class StoryService {
             if (user == null && story.getAuthor().getEmail() != null) user = userService.findByEmail(story.getAuthor().getEmail());
             if (user != null) e.setAuthorId(UUID.fromString(user.getId()));
         }
-        // handle genres
+        // genres and tags: one lookup for the whole set, missing names inserted in one statement
         if (story.getGenres() != null) {
-            java.util.Set<com.danielvflores.writook.entity.GenreEntity> genreEntities = new java.util.HashSet<>();
-            for (String g : story.getGenres()) {
-                com.danielvflores.writook.entity.GenreEntity ge = genreRepository.findByName(g).orElseGet(() -> {
-                    com.danielvflores.writook.entity.GenreEntity n = new com.danielvflores.writook.entity.GenreEntity();
-                    n.setId(UUID.randomUUID());
-                    n.setName(g);
-                    return genreRepository.save(n);
-                });
-                genreEntities.add(ge);
-            }
-            e.setGenres(genreEntities);
+            e.setGenres(taxonomyService.resolveGenres(story.getGenres()));
         }
-
-        // handle tags
         if (story.getTags() != null) {
-            java.util.Set<com.danielvflores.writook.entity.TagEntity> tagEntities = new java.util.HashSet<>();
-            for (String t : story.getTags()) {
-                com.danielvflores.writook.entity.TagEntity te = tagRepository.findByName(t).orElseGet(() -> {
-                    com.danielvflores.writook.entity.TagEntity n = new com.danielvflores.writook.entity.TagEntity();
-                    n.setId(UUID.randomUUID());
-                    n.setName(t);
-                    return tagRepository.save(n);
-                });
-                tagEntities.add(te);
-            }
-            e.setTags(tagEntities);
+            e.setTags(taxonomyService.resolveTags(story.getTags()));
         }
 
         StoryEntity saved = storyRepository.save(e);
@@ -147,19 +227,34 @@ public class StoryService {
                 ce.setContent(ch.getContent());
                 chapterRepository.save(ce);
             }
+            storyRepository.setChapterCount(saved.getId(), story.getChapters().size());
+        }
+        if (story.getGenres() != null || story.getTags() != null) {
+            // Genre/tag names are part of the search document; recomputed once for all links
+            storyRepository.refreshSearchVector(saved.getId());
         }
+        storyTitleSearchService.indexStory(saved.getId(), saved.getTitle(), saved.getAuthorDisplayName());
+        storyFacetService.indexStory(saved.getId(), story.getGenres(), story.getTags(), 0.0);
 
         return entityToModel(storyRepository.findById(saved.getId()).get());
     }
 
+    @Transactional
     public Story updateStory(String id, Story updatedStory) {
         try {
             UUID uuid = UUID.fromString(id);
             Optional<StoryEntity> existing = storyRepository.findById(uuid);
             if (existing.isPresent()) {
-                StoryEntity toSave = modelToEntity(updatedStory);
-                toSave.setId(uuid);
+                // Edit the managed row in place: its chapter collection is never replaced, so nothing is orphan-deleted
+                StoryEntity toSave = existing.get();
+                toSave.setTitle(updatedStory.getTitle());
+                toSave.setSynopsis(updatedStory.getSynopsis());
                 if (updatedStory.getAuthor() != null) {
+                    toSave.setAuthorUsername(updatedStory.getAuthor().getUsername());
+                    toSave.setAuthorEmail(updatedStory.getAuthor().getEmail());
+                    toSave.setAuthorDisplayName(updatedStory.getAuthor().getDisplayName());
+                    toSave.setAuthorBio(updatedStory.getAuthor().getBio());
+                    toSave.setAuthorProfilePictureUrl(updatedStory.getAuthor().getProfilePictureUrl());
                     User user = null;
                     if (updatedStory.getAuthor().getUsername() != null) user = userService.findByUsername(updatedStory.getAuthor().getUsername());
                     if (user == null && updatedStory.getAuthor().getEmail() != null) user = userService.findByEmail(updatedStory.getAuthor().getEmail());
@@ -167,84 +262,187 @@ public class StoryService {
                 }
                 // update genres/tags similar to create
                 if (updatedStory.getGenres() != null) {
-                    java.util.Set<com.danielvflores.writook.entity.GenreEntity> genreEntities = new java.util.HashSet<>();
-                    for (String g : updatedStory.getGenres()) {
-                        com.danielvflores.writook.entity.GenreEntity ge = genreRepository.findByName(g).orElseGet(() -> {
-                            com.danielvflores.writook.entity.GenreEntity n = new com.danielvflores.writook.entity.GenreEntity();
-                            n.setId(UUID.randomUUID());
-                            n.setName(g);
-                            return genreRepository.save(n);
-                        });
-                        genreEntities.add(ge);
-                    }
-                    toSave.setGenres(genreEntities);
+                    toSave.setGenres(taxonomyService.resolveGenres(updatedStory.getGenres()));
                 }
                 if (updatedStory.getTags() != null) {
-                    java.util.Set<com.danielvflores.writook.entity.TagEntity> tagEntities = new java.util.HashSet<>();
-                    for (String t : updatedStory.getTags()) {
-                        com.danielvflores.writook.entity.TagEntity te = tagRepository.findByName(t).orElseGet(() -> {
-                            com.danielvflores.writook.entity.TagEntity n = new com.danielvflores.writook.entity.TagEntity();
-                            n.setId(UUID.randomUUID());
-                            n.setName(t);
-                            return tagRepository.save(n);
-                        });
-                        tagEntities.add(te);
-                    }
-                    toSave.setTags(tagEntities);
+                    toSave.setTags(taxonomyService.resolveTags(updatedStory.getTags()));
                 }
                 StoryEntity saved = storyRepository.save(toSave);
 
-                // replace chapters
-                // delete old chapters for story
-                chapterRepository.findAll().stream().filter(c -> c.getStory() != null && c.getStory().getId().equals(saved.getId())).forEach(c -> chapterRepository.delete(c));
+                // null chapters = metadata-only edit, chapters stay as they are
                 if (updatedStory.getChapters() != null) {
-                    for (Chapter ch : updatedStory.getChapters()) {
-                        ChapterEntity ce = new ChapterEntity();
-                        ce.setId(UUID.randomUUID());
-                        ce.setStory(saved);
-                        ce.setNumber(ch.getNumber());
-                        ce.setTitle(ch.getTitle());
-                        ce.setContent(ch.getContent());
-                        chapterRepository.save(ce);
+                    int chapterCount = syncChapters(uuid, updatedStory.getChapters());
+                    if (chapterCount >= 0) {
+                        // Also flushes the story and clears the context so the reload below sees the new chapters
+                        storyRepository.setChapterCount(uuid, chapterCount);
                     }
                 }
-                return entityToModel(storyRepository.findById(saved.getId()).get());
+                if (updatedStory.getGenres() != null || updatedStory.getTags() != null) {
+                    storyRepository.refreshSearchVector(uuid);
+                }
+                storyTitleSearchService.indexStory(saved.getId(), saved.getTitle(), saved.getAuthorDisplayName());
+                StoryEntity reloaded = storyRepository.findById(uuid).get();
+                List<UUID> idList = List.of(uuid);
+                storyFacetService.indexStory(uuid,
+                    groupNames(storyRepository.findGenreNamesByStoryIds(idList)).get(uuid),
+                    groupNames(storyRepository.findTagNamesByStoryIds(idList)).get(uuid),
+                    reloaded.getRating());
+                return entityToModel(reloaded);
             }
         } catch (IllegalArgumentException ex) {
         }
         return null;
     }
 
+    /**
+     * Sincroniza los capítulos de una historia con la lista recibida, por número de capítulo.
+     * Solo inserta los nuevos, actualiza los que cambiaron (título o hash del contenido) y borra los que ya no están;
+     * cada tipo de cambio va en un único batch JDBC. Devuelve el nuevo total de capítulos, o -1 si no hubo cambios.
+     */
+    private int syncChapters(UUID storyId, List<Chapter> incoming) {
+        Map<Integer, Chapter> wanted = new java.util.LinkedHashMap<>();
+        for (Chapter ch : incoming) {
+            wanted.put(ch.getNumber(), ch);
+        }
+
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        java.util.Set<Integer> existingNumbers = new java.util.HashSet<>();
+        for (Object[] row : chapterRepository.findSyncRowsByStoryId(storyId)) {
+            UUID chapterId = (UUID) row[0];
+            int number = (Integer) row[1];
+            existingNumbers.add(number);
+            Chapter ch = wanted.get(number);
+            if (ch == null) {
+                deletes.add(new Object[] { chapterId });
+                continue;
+            }
+            String hash = ChapterEntity.contentHash(ch.getContent());
+            if (!Objects.equals(row[2], ch.getTitle()) || !hash.equals(row[3])) {
+                updates.add(new Object[] { ch.getTitle(), ch.getContent(), ChapterEntity.countWords(ch.getContent()), hash, chapterId });
+            }
+        }
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (Chapter ch : wanted.values()) {
+            if (existingNumbers.contains(ch.getNumber())) continue;
+            inserts.add(new Object[] { UUID.randomUUID(), storyId, ch.getNumber(), ch.getTitle(), ch.getContent(),
+                ChapterEntity.countWords(ch.getContent()), ChapterEntity.contentHash(ch.getContent()) });
+        }
+
+        if (deletes.isEmpty() && updates.isEmpty() && inserts.isEmpty()) {
+            return -1;
+        }
+        // Deletes first so a removed number can never collide with uq_chapter_story_number
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM chapters WHERE id = ?", deletes);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE chapters SET title = ?, content = ?, word_count = ?, content_hash = ? WHERE id = ?", updates);
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO chapters (id, story_id, number, title, content, word_count, content_hash, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, now(), now())", inserts);
+        }
+        return wanted.size();
+    }
+
     public boolean deleteStory(String id) {
         try {
             UUID uuid = UUID.fromString(id);
             if (storyRepository.existsById(uuid)) {
                 storyRepository.deleteById(uuid);
+                storyTitleSearchService.removeStory(uuid);
+                storyFacetService.removeStory(uuid);
+                trendingService.removeStory(uuid);
                 return true;
             }
         } catch (IllegalArgumentException ex) {}
         return false;
     }
 
-    public List<Story> getStoriesByAuthorUsername(String username) {
-        return storyRepository.findByAuthorUsername(username).stream().map(StoryService::entityToModel).collect(Collectors.toList());
+    public List<StorySummaryDTO> getStoriesByAuthorUsername(String username) {
+        return withGenresAndTags(storyRepository.findSummariesByAuthorUsername(username));
     }
 
+    /**
+     * Publica un capítulo nuevo al final de la historia insertando una sola fila.
+     * Incrementar chapter_count primero bloquea la fila de la historia, así dos publicaciones
+     * simultáneas no pueden obtener el mismo número. Los capítulos existentes no se tocan.
+     */
+    @Transactional
+    public Chapter appendChapter(String storyId, Chapter newChapter) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(storyId);
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Historia no encontrada");
+        }
+        if (storyRepository.adjustChapterCount(uuid, 1) == 0) {
+            throw new RuntimeException("Historia no encontrada");
+        }
+        ChapterEntity ce = new ChapterEntity();
+        ce.setId(UUID.randomUUID());
+        ce.setStory(storyRepository.getReferenceById(uuid));
+        ce.setNumber(chapterRepository.findMaxNumberByStoryId(uuid) + 1);
+        ce.setTitle(newChapter.getTitle());
+        ce.setContent(newChapter.getContent());
+        chapterRepository.save(ce);
+        return new Chapter(ce.getTitle(), ce.getContent(), ce.getNumber());
+    }
+
+    /**
+     * Índice de capítulos de una historia (sin contenido). null si la historia no existe.
+     */
+    public List<ChapterSummaryDTO> getTableOfContents(String storyId) {
+        try {
+            UUID uuid = UUID.fromString(storyId);
+            List<ChapterSummaryDTO> toc = chapterRepository.findTableOfContents(uuid);
+            if (toc.isEmpty() && !storyRepository.existsById(uuid)) return null;
+            return toc;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Un solo capítulo con su contenido, buscado por (story_id, number)
+     */
+    public ChapterContentDTO getChapter(String storyId, int number) {
+        try {
+            return chapterRepository.findChapterContent(UUID.fromString(storyId), number).orElse(null);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    @Transactional
     public Chapter updateChapter(String storyId, Long chapterId, Chapter updatedChapter, String authHeader) {
         // Validate owner
+        checkStoryOwnership(storyId, authHeader);
+
+        // One indexed UPDATE by (story_id, number); the chapter is never loaded
+        String content = updatedChapter.getContent();
+        int updated = chapterRepository.updateContent(UUID.fromString(storyId), chapterId.intValue(), updatedChapter.getTitle(),
+            content, ChapterEntity.countWords(content), ChapterEntity.contentHash(content));
+        if (updated == 0) throw new RuntimeException("Capítulo no encontrado");
+        return new Chapter(updatedChapter.getTitle(), content, chapterId.intValue());
+    }
+
+    /**
+     * Comprueba que el usuario del token es el autor de la historia leyendo solo las columnas del autor
+     */
+    public AuthorDTO checkStoryOwnership(String storyId, String authHeader) {
         User authenticatedUser = validateTokenAndGetUser(authHeader);
-        Story story = getStoryById(storyId);
-        if (story == null) throw new RuntimeException("Historia no encontrada");
-        if (!isStoryOwner(story, authenticatedUser)) throw new SecurityException("No autorizado: solo el autor puede editar capítulos");
-
-        // Find chapter entity
-        List<ChapterEntity> chapterEntities = chapterRepository.findAll().stream().filter(c -> c.getStory() != null && c.getStory().getId().toString().equals(storyId) && c.getNumber() == chapterId.intValue()).collect(Collectors.toList());
-        if (chapterEntities.isEmpty()) throw new RuntimeException("Capítulo no encontrado");
-        ChapterEntity ce = chapterEntities.get(0);
-        ce.setTitle(updatedChapter.getTitle());
-        ce.setContent(updatedChapter.getContent());
-        chapterRepository.save(ce);
-        return new Chapter(ce.getTitle(), ce.getContent(), ce.getNumber());
+        AuthorDTO author;
+        try {
+            author = storyRepository.findAuthorById(UUID.fromString(storyId)).orElse(null);
+        } catch (IllegalArgumentException ex) {
+            author = null;
+        }
+        if (author == null) throw new RuntimeException("Historia no encontrada");
+        if (!isStoryOwner(author, authenticatedUser)) throw new SecurityException("No autorizado: no tienes permiso para modificar esta historia");
+        return author;
     }
 
     // Public helper to check ownership and return story (used by controllers)
@@ -252,7 +450,7 @@ public class StoryService {
         User authenticatedUser = validateTokenAndGetUser(authHeader);
         Story story = getStoryById(id);
         if (story == null) throw new RuntimeException("Historia no encontrada");
-        if (!isStoryOwner(story, authenticatedUser)) throw new RuntimeException("No tienes permiso para acceder a este espacio de trabajo");
+        if (!isStoryOwner(story.getAuthor(), authenticatedUser)) throw new RuntimeException("No tienes permiso para acceder a este espacio de trabajo");
         return story;
     }
 
@@ -261,24 +459,18 @@ public class StoryService {
             throw new RuntimeException("Token de autorización requerido");
         }
 
-        String token = authHeader.substring(7);
-        if (!com.danielvflores.writook.utility.TokenJWTUtility.validateToken(token)) {
-            throw new RuntimeException("Token inválido");
-        }
-
-        String userFromToken = com.danielvflores.writook.utility.TokenJWTUtility.getUsernameFromToken(token);
-        if (userFromToken == null) throw new RuntimeException("No se pudo extraer usuario del token");
+        String userFromToken = jwtTokenVerifier.verify(authHeader.substring(7));
+        if (userFromToken == null) throw new RuntimeException("Token inválido");
 
-        User authenticatedUser = userService.findByUsername(userFromToken);
-        if (authenticatedUser == null) authenticatedUser = userService.findByEmail(userFromToken);
+        User authenticatedUser = principalService.resolve(userFromToken);
         if (authenticatedUser == null) throw new RuntimeException("Usuario no encontrado");
         return authenticatedUser;
     }
 
-    private boolean isStoryOwner(Story story, User authenticatedUser) {
-        if (story == null || story.getAuthor() == null || authenticatedUser == null) return false;
-        String authorUsername = story.getAuthor().getUsername();
-        String authorEmail = story.getAuthor().getEmail();
+    private boolean isStoryOwner(AuthorDTO author, User authenticatedUser) {
+        if (author == null || authenticatedUser == null) return false;
+        String authorUsername = author.getUsername();
+        String authorEmail = author.getEmail();
         String authUserUsername = authenticatedUser.getUsername();
         String authUserEmail = authenticatedUser.getEmail();
 
@@ -297,41 +489,93 @@ public class StoryService {
         return false;
     }
 
-    public List<Story> getTopRatedStories(int limit) {
-        return storyRepository.findAll().stream().sorted((s1, s2) -> Double.compare(s2.getRating(), s1.getRating())).limit(limit).map(StoryService::entityToModel).collect(Collectors.toList());
+    public List<StorySummaryDTO> getTopRatedStories(int limit) {
+        return getTopRatedStories(0, limit);
     }
 
-    public List<Story> searchStories(String query) {
-        String lowerQuery = query.toLowerCase();
-        return storyRepository.findAll().stream().filter(e -> (e.getTitle() != null && e.getTitle().toLowerCase().contains(lowerQuery)) || (e.getSynopsis() != null && e.getSynopsis().toLowerCase().contains(lowerQuery)) || (e.getAuthorDisplayName() != null && e.getAuthorDisplayName().toLowerCase().contains(lowerQuery))).map(StoryService::entityToModel).collect(Collectors.toList());
+    /**
+     * Ranking por puntuación bayesiana (vista materializada story_leaderboard), solo la página pedida
+     */
+    public List<StorySummaryDTO> getTopRatedStories(int page, int size) {
+        int pageSize = clampPageSize(size);
+        return summariesInOrder(storyRepository.findLeaderboardPage(pageSize, Math.max(page, 0) * pageSize));
     }
 
-    // Nuevos métodos para estadísticas reales
-    @Autowired
-    private com.danielvflores.writook.service.RatingService ratingService;
+    /**
+     * Historias en tendencia ahora mismo (ranking en memoria de TrendingService)
+     */
+    public List<StorySummaryDTO> getTrendingStories(int limit) {
+        List<UUID> ids = trendingService.top(clampPageSize(limit)).stream().map(DecayingTopK.Scored::key).collect(Collectors.toList());
+        return summariesInOrder(ids);
+    }
+
+    /**
+     * Historias parecidas a la dada según quién las valoró bien (vecinos precalculados por StoryRecommendationService)
+     */
+    public List<StorySummaryDTO> getSimilarStories(String storyId, int limit) {
+        return summariesInOrder(storyRecommendationService.similarStories(UUID.fromString(storyId), clampPageSize(limit)));
+    }
+
+    /**
+     * Exploración por facetas: historias que cumplen los géneros/etiquetas pedidos (todas o cualquiera)
+     * y la puntuación mínima, más recientes primero, con el recuento por género y etiqueta del resultado.
+     */
+    public StoryBrowseDTO browseStories(List<String> genres, List<String> tags, boolean matchAll, Double minRating, int page, int size) {
+        int pageSize = clampPageSize(size);
+        int pageNumber = Math.max(page, 0);
+        FacetIndex.Result result = storyFacetService.browse(TaxonomyService.normalizeNames(genres), TaxonomyService.normalizeNames(tags),
+            matchAll, minRating, pageNumber * pageSize, pageSize);
+        return new StoryBrowseDTO(summariesInOrder(result.page()), pageNumber, pageSize, result.total(), result.genreCounts(), result.tagCounts());
+    }
+
+    private static final int MAX_SEARCH_TERMS = 8;
+
+    /**
+     * Búsqueda por texto completo (título, sinopsis, autor, géneros y etiquetas), ordenada por relevancia.
+     * Cada palabra se busca como prefijo para que funcione mientras el usuario escribe.
+     */
+    public List<StorySummaryDTO> searchStories(String query, int page, int size) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return List.of();
+        }
+        int pageSize = clampPageSize(size);
+        int offset = Math.max(page, 0) * pageSize;
+        List<UUID> matches = storyRepository.searchByText(tsQuery, pageSize, offset);
+        if (matches.isEmpty() && offset == 0) {
+            // Nothing matched literally: probably a typo, try the trigram index instead
+            return fuzzySearchStories(query, pageSize);
+        }
+        return summariesInOrder(matches);
+    }
+
+    /**
+     * Búsqueda tolerante a errores de escritura sobre título y nombre del autor (índice de trigramas en memoria)
+     */
+    public List<StorySummaryDTO> fuzzySearchStories(String query, int limit) {
+        return summariesInOrder(storyTitleSearchService.search(query, clampPageSize(limit)));
+    }
+
+    // "dragon sombr" -> "dragon:* & sombr:*". Only letters/digits survive, so the result is always valid tsquery syntax.
+    static String toPrefixTsQuery(String query) {
+        if (query == null) return null;
+        String terms = java.util.Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+            .filter(t -> !t.isEmpty())
+            .limit(MAX_SEARCH_TERMS)
+            .map(t -> t + ":*")
+            .collect(Collectors.joining(" & "));
+        return terms.isEmpty() ? null : terms;
+    }
 
     @Autowired
-    private com.danielvflores.writook.service.CommentService commentService;
+    private StoryStatsService storyStatsService;
 
     /**
      * Obtener estadísticas completas de una historia
      */
     public com.danielvflores.writook.dto.StoryStatsDTO getStoryStats(String storyId) {
         try {
-            UUID storyUuid = UUID.fromString(storyId);
-            
-            // Obtener métricas reales
-            Double averageRating = ratingService.getAverageRating(storyUuid);
-            Long totalRatings = ratingService.getTotalRatings(storyUuid);
-            Long totalComments = commentService.getTotalComments(storyUuid);
-            
-            // Contar capítulos
-            Story story = getStoryById(storyId);
-            Integer totalChapters = story != null && story.getChapters() != null ? 
-                story.getChapters().size() : 0;
-            
-            return new com.danielvflores.writook.dto.StoryStatsDTO(
-                storyUuid, averageRating, totalRatings, totalComments, totalChapters);
+            return storyStatsService.getStats(UUID.fromString(storyId));
         } catch (Exception e) {
             // Retornar estadísticas vacías en caso de error
             return new com.danielvflores.writook.dto.StoryStatsDTO(
@@ -340,30 +584,31 @@ public class StoryService {
     }
 
     /**
-     * Obtener todas las historias con sus estadísticas
+     * Obtener una página del catálogo con sus estadísticas.
+     * Las estadísticas de toda la página salen de las columnas contador en una sola consulta.
      */
-    public List<StoryWithStatsDTO> getAllStoriesWithStats() {
-        List<Story> stories = getAllStories();
-        return stories.stream()
-            .map(story -> {
-                com.danielvflores.writook.dto.StoryStatsDTO stats = getStoryStats(story.getId());
-                return new StoryWithStatsDTO(story, stats);
-            })
+    public CursorPageDTO<StoryWithStatsDTO> getStoriesWithStatsPage(String cursor, int size) {
+        CursorPageDTO<StorySummaryDTO> page = getStoriesPage(cursor, size);
+        List<UUID> ids = page.getItems().stream().map(s -> UUID.fromString(s.getId())).collect(Collectors.toList());
+        Map<UUID, com.danielvflores.writook.dto.StoryStatsDTO> stats = storyStatsService.getStatsForStories(ids);
+        List<StoryWithStatsDTO> items = page.getItems().stream()
+            .map(story -> new StoryWithStatsDTO(story, stats.get(UUID.fromString(story.getId()))))
             .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, page.getNextCursor(), page.isHasNext());
     }
 
     // DTO para combinar historia con estadísticas
     public static class StoryWithStatsDTO {
-        private Story story;
+        private StorySummaryDTO story;
         private com.danielvflores.writook.dto.StoryStatsDTO stats;
 
-        public StoryWithStatsDTO(Story story, com.danielvflores.writook.dto.StoryStatsDTO stats) {
+        public StoryWithStatsDTO(StorySummaryDTO story, com.danielvflores.writook.dto.StoryStatsDTO stats) {
             this.story = story;
             this.stats = stats;
         }
 
-        public Story getStory() { return story; }
-        public void setStory(Story story) { this.story = story; }
+        public StorySummaryDTO getStory() { return story; }
+        public void setStory(StorySummaryDTO story) { this.story = story; }
         
         public com.danielvflores.writook.dto.StoryStatsDTO getStats() { return stats; }
         public void setStats(com.danielvflores.writook.dto.StoryStatsDTO stats) { this.stats = stats; }
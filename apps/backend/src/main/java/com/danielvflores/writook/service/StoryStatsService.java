@@ -0,0 +1,66 @@
+package com.danielvflores.writook.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.danielvflores.writook.dto.StoryStatsDTO;
+import com.danielvflores.writook.repository.StoryRepository;
+
+@Service
+@Transactional(readOnly = true)
+public class StoryStatsService {
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    /**
+     * Estadísticas de un lote de historias leídas de las columnas contador de stories
+     * (una sola consulta por clave primaria). Las historias que no existen quedan con 0.
+     */
+    public Map<UUID, StoryStatsDTO> getStatsForStories(Collection<UUID> storyIds) {
+        Map<UUID, StoryStatsDTO> result = new LinkedHashMap<>();
+        if (storyIds == null || storyIds.isEmpty()) {
+            return result;
+        }
+
+        Map<UUID, Object[]> counters = new HashMap<>();
+        for (Object[] row : storyRepository.findCountersByIds(storyIds)) {
+            counters.put((UUID) row[0], row);
+        }
+
+        for (UUID storyId : storyIds) {
+            Object[] row = counters.get(storyId);
+            if (row == null) {
+                result.put(storyId, new StoryStatsDTO(storyId, 0.0, 0L, 0L, 0));
+                continue;
+            }
+            long ratingSum = ((Number) row[1]).longValue();
+            long ratingCount = ((Number) row[2]).longValue();
+            result.put(storyId, new StoryStatsDTO(
+                storyId,
+                averageOf(ratingSum, ratingCount),
+                ratingCount,
+                ((Number) row[3]).longValue(),
+                ((Number) row[4]).intValue()));
+        }
+        return result;
+    }
+
+    public StoryStatsDTO getStats(UUID storyId) {
+        return getStatsForStories(List.of(storyId)).get(storyId);
+    }
+
+    // Same rounding as RatingService.getAverageRating (1 decimal)
+    static Double averageOf(long ratingSum, long ratingCount) {
+        if (ratingCount <= 0) return 0.0;
+        return Math.round(((double) ratingSum / ratingCount) * 10.0) / 10.0;
+    }
+}
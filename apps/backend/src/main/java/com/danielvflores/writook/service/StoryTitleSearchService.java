@@ -0,0 +1,90 @@
+package com.danielvflores.writook.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.repository.StoryRepository;
+import com.danielvflores.writook.utility.TransactionUtility;
+import com.danielvflores.writook.utility.TrigramIndex;
+
+@Service
+public class StoryTitleSearchService {
+
+    private static final double MIN_SIMILARITY = 0.4;
+
+    @Autowired
+    private StoryRepository storyRepository;
+
+    private static final Logger logger = LoggerFactory.getLogger(StoryTitleSearchService.class);
+
+    private volatile TrigramIndex index = new TrigramIndex();
+
+    // Non-null while a rebuild runs: updates committed meanwhile are replayed onto the new index before the swap
+    private final Object rebuildLock = new Object();
+    private List<Consumer<TrigramIndex>> updatesDuringRebuild;
+
+    /**
+     * Build the index from the titles and author names already in the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        TrigramIndex fresh = new TrigramIndex();
+        try {
+            for (Object[] row : storyRepository.findTitleIndexRows()) {
+                fresh.put((UUID) row[0], indexedText((String) row[1], (String) row[2]));
+            }
+            synchronized (rebuildLock) {
+                updatesDuringRebuild.forEach(update -> update.accept(fresh));
+                index = fresh;
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+        logger.info("Story title index built: {} stories in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Add or refresh a story once the current transaction commits
+     */
+    public void indexStory(UUID storyId, String title, String authorDisplayName) {
+        String text = indexedText(title, authorDisplayName);
+        TransactionUtility.afterCommit(() -> apply(i -> i.put(storyId, text)));
+    }
+
+    public void removeStory(UUID storyId) {
+        TransactionUtility.afterCommit(() -> apply(i -> i.remove(storyId)));
+    }
+
+    /**
+     * Typo-tolerant lookup, best matches first. No database round trip.
+     */
+    public List<UUID> search(String query, int limit) {
+        return index.search(query, limit, MIN_SIMILARITY);
+    }
+
+    private void apply(Consumer<TrigramIndex> update) {
+        synchronized (rebuildLock) {
+            update.accept(index);
+            if (updatesDuringRebuild != null) updatesDuringRebuild.add(update);
+        }
+    }
+
+    private static String indexedText(String title, String authorDisplayName) {
+        return (title != null ? title : "") + " " + (authorDisplayName != null ? authorDisplayName : "");
+    }
+}
@@ -0,0 +1,150 @@
+package com.danielvflores.writook.service;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.entity.GenreEntity;
+import com.danielvflores.writook.entity.TagEntity;
+import com.danielvflores.writook.repository.GenreRepository;
+import com.danielvflores.writook.repository.TagRepository;
+import com.danielvflores.writook.utility.BoundedCache;
+import com.danielvflores.writook.utility.TransactionUtility;
+
+/**
+ * Diccionario de géneros y etiquetas: nombre -> id con caché en memoria.
+ * Un conjunto de nombres se resuelve con una consulta para los que no están en caché
+ * y un único INSERT ... ON CONFLICT DO NOTHING para los que aún no existen.
+ */
+@Service
+public class TaxonomyService {
+
+    private static final int CACHE_SIZE = 10_000;
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxonomyService.class);
+
+    private final BoundedCache<String, UUID> genreIds = new BoundedCache<>(CACHE_SIZE);
+    private final BoundedCache<String, UUID> tagIds = new BoundedCache<>(CACHE_SIZE);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        genreRepository.findAll(PageRequest.of(0, CACHE_SIZE)).forEach(g -> genreIds.put(g.getName(), g.getId()));
+        tagRepository.findAll(PageRequest.of(0, CACHE_SIZE)).forEach(t -> tagIds.put(t.getName(), t.getId()));
+        logger.info("Taxonomy cache warmed: {} genres, {} tags", genreIds.size(), tagIds.size());
+    }
+
+    public Set<GenreEntity> resolveGenres(Collection<String> names) {
+        Set<GenreEntity> result = new HashSet<>();
+        for (UUID id : resolve("genres", names, genreIds, found -> toIdMap(genreRepository.findByNameIn(found), GenreEntity::getName, GenreEntity::getId))) {
+            result.add(genreRepository.getReferenceById(id));
+        }
+        return result;
+    }
+
+    public Set<TagEntity> resolveTags(Collection<String> names) {
+        Set<TagEntity> result = new HashSet<>();
+        for (UUID id : resolve("tags", names, tagIds, found -> toIdMap(tagRepository.findByNameIn(found), TagEntity::getName, TagEntity::getId))) {
+            result.add(tagRepository.getReferenceById(id));
+        }
+        return result;
+    }
+
+    /**
+     * Nombres tal y como se guardan: sin espacios alrededor, sin vacíos ni duplicados
+     */
+    public static List<String> normalizeNames(Collection<String> names) {
+        Set<String> result = new LinkedHashSet<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.isBlank()) result.add(name.trim());
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    // Must run inside the caller's transaction: new ids are only cached once it commits
+    private List<UUID> resolve(String table, Collection<String> names, BoundedCache<String, UUID> cache,
+            Function<Collection<String>, Map<String, UUID>> findByNames) {
+        List<String> wanted = normalizeNames(names);
+        List<UUID> ids = new ArrayList<>(wanted.size());
+        List<String> misses = new ArrayList<>();
+        for (String name : wanted) {
+            UUID id = cache.get(name);
+            if (id != null) ids.add(id); else misses.add(name);
+        }
+        if (misses.isEmpty()) return ids;
+
+        Map<String, UUID> found = findByNames.apply(misses);
+        found.forEach(cache::put);
+        ids.addAll(found.values());
+
+        List<String> missing = misses.stream().filter(n -> !found.containsKey(n)).toList();
+        if (missing.isEmpty()) return ids;
+
+        Map<String, UUID> inserted = insertMissing(table, missing);
+        ids.addAll(inserted.values());
+        TransactionUtility.afterCommit(() -> inserted.forEach(cache::put));
+
+        // Names another transaction inserted first (ON CONFLICT skipped them): read the winner's id
+        List<String> raced = missing.stream().filter(n -> !inserted.containsKey(n)).toList();
+        if (!raced.isEmpty()) {
+            Map<String, UUID> winners = findByNames.apply(raced);
+            winners.forEach(cache::put);
+            ids.addAll(winners.values());
+        }
+        return ids;
+    }
+
+    // One statement for the whole set; the unique name constraint settles concurrent creators
+    private Map<String, UUID> insertMissing(String table, List<String> names) {
+        UUID[] newIds = new UUID[names.size()];
+        for (int i = 0; i < newIds.length; i++) newIds[i] = UUID.randomUUID();
+        String sql = "INSERT INTO " + table + " (id, name) SELECT * FROM unnest(?::uuid[], ?::text[]) "
+            + "ON CONFLICT (name) DO NOTHING RETURNING id, name";
+        Map<String, UUID> inserted = new HashMap<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            Array idArray = con.createArrayOf("uuid", newIds);
+            Array nameArray = con.createArrayOf("text", names.toArray());
+            ps.setArray(1, idArray);
+            ps.setArray(2, nameArray);
+            return ps;
+        }, rs -> {
+            inserted.put(rs.getString("name"), rs.getObject("id", UUID.class));
+        });
+        return inserted;
+    }
+
+    private static <T> Map<String, UUID> toIdMap(List<T> rows, Function<T, String> name, Function<T, UUID> id) {
+        Map<String, UUID> result = new HashMap<>();
+        for (T row : rows) result.put(name.apply(row), id.apply(row));
+        return result;
+    }
+}
@@ -0,0 +1,136 @@
+package com.danielvflores.writook.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.danielvflores.writook.utility.DecayingTopK;
+import com.danielvflores.writook.utility.TransactionUtility;
+
+/**
+ * Historias en tendencia: puntuación con decaimiento exponencial sobre valoraciones, comentarios y vistas recientes.
+ * Se actualiza con cada evento y se mantiene en memoria (top-K acotado); leer el ranking no consulta la base de datos.
+ */
+@Service
+public class TrendingService {
+
+    private static final int TRACKED_STORIES = 5_000;
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double COMMENT_WEIGHT = 5.0;
+    private static final double CHAPTER_COMMENT_WEIGHT = 3.0;
+    // A rating adds ratingValue * RATING_WEIGHT, so a 5-star rating counts more than a 1-star one
+    private static final double RATING_WEIGHT = 2.0;
+    // Events older than this many half-lives are worth < 1/8 and are not replayed at startup
+    private static final int REPLAY_HALF_LIVES = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Duration halfLife;
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    private volatile DecayingTopK scores;
+
+    // Non-null while a rebuild runs: events committed meanwhile are replayed onto the new scores before the swap
+    private final Object rebuildLock = new Object();
+    private List<Consumer<DecayingTopK>> updatesDuringRebuild;
+
+    public TrendingService(@Value("${writook.trending.half-life-hours:24}") long halfLifeHours) {
+        this.halfLife = Duration.ofHours(halfLifeHours);
+        this.scores = new DecayingTopK(TRACKED_STORIES, halfLife.toMillis(), System.currentTimeMillis());
+    }
+
+    /**
+     * Replay recent ratings and comments once at startup (views are not stored per event).
+     * The timestamp columns have no time zone and are written from LocalDateTime.now(), so they are read back
+     * as LocalDateTime and converted with the JVM zone, never with the database session's zone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        DecayingTopK fresh = new DecayingTopK(TRACKED_STORIES, halfLife.toMillis(), start);
+        try {
+            LocalDateTime since = LocalDateTime.now().minusHours(halfLife.toHours() * REPLAY_HALF_LIVES);
+            // A rating counts once, when it was first given; later edits don't add to the score again
+            jdbcTemplate.query("SELECT story_id, rating_value, created_at FROM ratings WHERE created_at > ?",
+                rs -> { fresh.add(rs.getObject(1, UUID.class), rs.getInt(2) * RATING_WEIGHT, epochMillis(rs.getObject(3, LocalDateTime.class))); }, since);
+            jdbcTemplate.query("SELECT story_id, created_at FROM comments WHERE created_at > ?",
+                rs -> { fresh.add(rs.getObject(1, UUID.class), COMMENT_WEIGHT, epochMillis(rs.getObject(2, LocalDateTime.class))); }, since);
+            jdbcTemplate.query("SELECT story_id, created_at FROM chapter_comments WHERE created_at > ?",
+                rs -> { fresh.add(rs.getObject(1, UUID.class), CHAPTER_COMMENT_WEIGHT, epochMillis(rs.getObject(2, LocalDateTime.class))); }, since);
+            // An event committed just before a SELECT read its table is counted twice; losing it would be worse
+            synchronized (rebuildLock) {
+                updatesDuringRebuild.forEach(update -> update.accept(fresh));
+                scores = fresh;
+            }
+        } finally {
+            synchronized (rebuildLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+        logger.info("Trending scores rebuilt: {} stories in {} ms", fresh.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Only for new ratings: re-rating the same story must not pump its score
+     */
+    public void recordRating(UUID storyId, int ratingValue) {
+        record(storyId, ratingValue * RATING_WEIGHT);
+    }
+
+    public void recordComment(UUID storyId) {
+        record(storyId, COMMENT_WEIGHT);
+    }
+
+    public void recordChapterComment(UUID storyId) {
+        record(storyId, CHAPTER_COMMENT_WEIGHT);
+    }
+
+    // Called with already-aggregated counts by ViewCounterService, outside any transaction
+    public void recordViews(UUID storyId, long views) {
+        long now = System.currentTimeMillis();
+        apply(s -> s.add(storyId, views * VIEW_WEIGHT, now));
+    }
+
+    public void removeStory(UUID storyId) {
+        TransactionUtility.afterCommit(() -> apply(s -> s.remove(storyId)));
+    }
+
+    public List<DecayingTopK.Scored> top(int limit) {
+        return scores.top(limit, System.currentTimeMillis());
+    }
+
+    private static long epochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Only count events whose transaction commits
+    private void record(UUID storyId, double weight) {
+        long now = System.currentTimeMillis();
+        TransactionUtility.afterCommit(() -> apply(s -> s.add(storyId, weight, now)));
+    }
+
+    private void apply(Consumer<DecayingTopK> update) {
+        synchronized (rebuildLock) {
+            update.accept(scores);
+            if (updatesDuringRebuild != null) updatesDuringRebuild.add(update);
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.danielvflores.writook.service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -10,21 +17,33 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.danielvflores.writook.dto.UserCardDTO;
 import com.danielvflores.writook.entity.UserEntity;
 import com.danielvflores.writook.model.User;
 import com.danielvflores.writook.repository.UserRepository;
+import com.danielvflores.writook.utility.BoundedCache;
 
 @Service
 public class UserService {
 
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private PrincipalService principalService;
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    // Keeps each IN (...) well below PostgreSQL's bind parameter limit
+    private static final int MAX_IDS_PER_QUERY = 500;
+    private static final String UNKNOWN_USERNAME = "Usuario desconocido";
+
+    // Shared by every comment/rating page; the same active users show up on most of them
+    private final BoundedCache<UUID, UserCardDTO> userCards = new BoundedCache<>(10_000, Duration.ofMinutes(10));
+
     public UserService() {}
 
-    private static User entityToModel(UserEntity e) {
+    static User entityToModel(UserEntity e) {
         if (e == null) return null;
         User u = new User(e.getUsername(), e.getId() != null ? e.getId().toString() : null, e.getEmail(), e.getPassword(), e.getDisplayName(), e.getBio(), e.getProfilePictureUrl());
         return u;
@@ -65,6 +84,7 @@ public class UserService {
         logger.info("Creating user username={} email={} id={}", entity.getUsername(), entity.getEmail(), entity.getId());
         UserEntity saved = userRepository.save(entity);
         logger.info("Saved user id={} username={}", saved.getId(), saved.getUsername());
+        principalService.invalidate(saved.getUsername(), saved.getEmail());
         return entityToModel(saved);
     }
 
@@ -76,6 +96,8 @@ public class UserService {
                 UserEntity toSave = modelToEntity(updatedUser);
                 toSave.setId(uuid);
                 UserEntity saved = userRepository.save(toSave);
+                principalService.invalidate(existing.get().getUsername(), existing.get().getEmail(), saved.getUsername(), saved.getEmail());
+                userCards.invalidate(uuid);
                 return entityToModel(saved);
             }
         } catch (IllegalArgumentException ex) {
@@ -87,8 +109,11 @@ public class UserService {
     public boolean deleteUser(String id) {
         try {
             UUID uuid = UUID.fromString(id);
-            if (userRepository.existsById(uuid)) {
+            Optional<UserEntity> existing = userRepository.findById(uuid);
+            if (existing.isPresent()) {
                 userRepository.deleteById(uuid);
+                principalService.invalidate(existing.get().getUsername(), existing.get().getEmail());
+                userCards.invalidate(uuid);
                 return true;
             }
         } catch (IllegalArgumentException ex) {
@@ -110,4 +135,54 @@ public class UserService {
         Optional<UserEntity> opt = userRepository.findByEmail(email);
         return opt.map(UserService::entityToModel).orElse(null);
     }
+
+    /**
+     * Fresh (uncached) lookup by username or email using their unique indexes; a username match wins
+     */
+    public User findByUsernameOrEmail(String usernameOrEmail) {
+        return userRepository.findByUsernameOrEmail(usernameOrEmail).stream().findFirst().map(UserService::entityToModel).orElse(null);
+    }
+
+    public boolean existsByUsernameOrEmail(String username, String email) {
+        return userRepository.existsByUsernameOrEmail(username, email);
+    }
+
+    /**
+     * Cards (id, username, display name, avatar) for the given users. Cached cards are served from memory and
+     * the rest are loaded with one query per 500 distinct ids, so a page of comments or ratings costs at most
+     * one round trip and an unpaged list of every rater stays within the bind parameter limit.
+     * Unknown ids are simply absent from the result.
+     */
+    public Map<UUID, UserCardDTO> getUserCards(Collection<UUID> ids) {
+        Map<UUID, UserCardDTO> cards = new HashMap<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            if (id == null || cards.containsKey(id)) continue;
+            UserCardDTO cached = userCards.get(id);
+            if (cached != null) cards.put(id, cached);
+            else missing.add(id);
+        }
+        missing = missing.stream().distinct().toList();
+        for (int from = 0; from < missing.size(); from += MAX_IDS_PER_QUERY) {
+            List<UUID> chunk = missing.subList(from, Math.min(from + MAX_IDS_PER_QUERY, missing.size()));
+            for (UserCardDTO card : userRepository.findCardsByIds(chunk)) {
+                userCards.put(card.getId(), card);
+                cards.put(card.getId(), card);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Builds one response per item with its author's username (looked up through getUserCards)
+     */
+    public <T, R> List<R> withUsernames(List<T> items, Function<T, UUID> userId, BiFunction<T, String, R> toResponse) {
+        Map<UUID, UserCardDTO> cards = getUserCards(items.stream().map(userId).toList());
+        List<R> responses = new ArrayList<>(items.size());
+        for (T item : items) {
+            UserCardDTO card = cards.get(userId.apply(item));
+            responses.add(toResponse.apply(item, card != null ? card.getUsername() : UNKNOWN_USERNAME));
+        }
+        return responses;
+    }
 }
@@ -0,0 +1,100 @@
+package com.danielvflores.writook.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Story view counting without a database write per read: increments go to a striped LongAdder per story
+ * and a background job adds them to stories.views in one UPDATE ... FROM (VALUES ...) per flush.
+ */
+@Service
+public class ViewCounterService {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounterService.class);
+
+    private final ConcurrentHashMap<UUID, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public void recordView(UUID storyId) {
+        pending.computeIfAbsent(storyId, id -> new LongAdder()).increment();
+    }
+
+    @Scheduled(fixedDelayString = "${writook.views.flush-interval-ms:10000}", initialDelayString = "${writook.views.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> deltas = drain();
+        if (deltas.isEmpty()) return;
+        long start = System.currentTimeMillis();
+        for (int from = 0; from < deltas.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Object[]> chunk = deltas.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, deltas.size()));
+            try {
+                // Only stories that still exist feed trending, so a story deleted meanwhile doesn't come back
+                jdbcTemplate.query(updateSql(chunk.size()),
+                    rs -> { trendingService.recordViews(rs.getObject(1, UUID.class), rs.getLong(2)); }, flatten(chunk));
+            } catch (Exception e) {
+                // Put the views back so the next flush retries them
+                for (Object[] row : chunk) pending.computeIfAbsent((UUID) row[0], id -> new LongAdder()).add((Long) row[1]);
+                logger.warn("Could not flush {} story view counters: {}", chunk.size(), e.getMessage());
+            }
+        }
+        logger.debug("Flushed views for {} stories in {} ms", deltas.size(), System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Counters that stayed at zero for a whole interval are dropped so idle stories don't pin memory.
+    // An increment racing with that removal can be lost, which is acceptable for view counts.
+    private List<Object[]> drain() {
+        List<Object[]> deltas = new ArrayList<>();
+        for (Map.Entry<UUID, LongAdder> e : pending.entrySet()) {
+            long views = e.getValue().sumThenReset();
+            if (views > 0) {
+                deltas.add(new Object[] { e.getKey(), views });
+            } else {
+                pending.remove(e.getKey(), e.getValue());
+            }
+        }
+        return deltas;
+    }
+
+    private static String updateSql(int rows) {
+        StringBuilder sql = new StringBuilder("UPDATE stories s SET views = COALESCE(s.views, 0) + v.delta FROM (VALUES ");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(CAST(? AS UUID), CAST(? AS BIGINT))");
+        }
+        return sql.append(") AS v(id, delta) WHERE s.id = v.id RETURNING s.id, v.delta").toString();
+    }
+
+    private static Object[] flatten(List<Object[]> rows) {
+        Object[] args = new Object[rows.size() * 2];
+        int i = 0;
+        for (Object[] row : rows) {
+            args[i++] = row[0];
+            args[i++] = row[1];
+        }
+        return args;
+    }
+}
@@ -0,0 +1,63 @@
+package com.danielvflores.writook.utility;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// SMALL THREAD-SAFE LRU CACHE WITH A HARD ENTRY LIMIT AND AN OPTIONAL TIME-TO-LIVE.
+// MEANT FOR HOT LOOKUP TABLES (NAME -> ID, TOKEN -> CLAIMS) WHERE A MISS IS JUST A DATABASE ROUND TRIP.
+public class BoundedCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    public BoundedCache(int maxEntries, Duration ttl) {
+        if (maxEntries <= 0) throw new IllegalArgumentException("maxEntries must be positive");
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0;
+        // Access order: get() moves an entry to the tail, so the head is always the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Cached value, or null when absent or expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt > 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        long expiresAt = ttlNanos > 0 ? System.nanoTime() + ttlNanos : 0;
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {}
+}
@@ -0,0 +1,32 @@
+package com.danielvflores.writook.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+// OPAQUE CONTINUATION TOKENS FOR KEYSET PAGINATION. A CURSOR IS THE SORT KEY OF THE LAST ROW
+// RETURNED PLUS ITS ID (TIE-BREAKER), ENCODED SO CLIENTS CAN'T (AND SHOULDN'T) BUILD THEM BY HAND.
+public class CursorUtility {
+
+    private static final String SEPARATOR = "|";
+
+    public static String encode(String sortKey, UUID id) {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx <= 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new Cursor(raw.substring(0, idx), UUID.fromString(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public record Cursor(String sortKey, UUID id) {}
+}
@@ -0,0 +1,110 @@
+package com.danielvflores.writook.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// EXPONENTIALLY TIME-DECAYED SCORES WITH A BOUNDED NUMBER OF TRACKED KEYS.
+// USES FORWARD DECAY: AN EVENT AT TIME t ADDS weight * e^(lambda * (t - landmark)), SO OLD SCORES NEVER NEED TO
+// BE TOUCHED AS TIME PASSES (EVERY SCORE WOULD SHRINK BY THE SAME FACTOR, WHICH DOESN'T CHANGE THE RANKING).
+// THE LANDMARK MOVES FORWARD BEFORE THE EXPONENT CAN OVERFLOW. WHEN FULL, THE LOWEST SCORE IS EVICTED.
+public class DecayingTopK {
+
+    // Rescale once e^exponent reaches ~e^40, far below double overflow
+    private static final double MAX_EXPONENT = 40;
+
+    private final int capacity;
+    private final double lambdaPerMs;
+    private long landmarkMillis;
+
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(Comparator.comparingDouble((Entry e) -> e.score).thenComparing(e -> e.key));
+
+    public DecayingTopK(int capacity, long halfLifeMillis, long nowMillis) {
+        this.capacity = capacity;
+        this.lambdaPerMs = Math.log(2) / halfLifeMillis;
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Adds an event of the given weight that happened at eventMillis
+     */
+    public synchronized void add(UUID key, double weight, long eventMillis) {
+        double exponent = lambdaPerMs * (eventMillis - landmarkMillis);
+        if (exponent > MAX_EXPONENT) {
+            rescale(eventMillis);
+            exponent = 0;
+        }
+        double increment = weight * Math.exp(exponent);
+
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            ranked.remove(entry);
+            entry.score += increment;
+            ranked.add(entry);
+            return;
+        }
+        if (entries.size() >= capacity) {
+            Entry lowest = ranked.first();
+            // A new key only displaces the weakest one if it already beats it
+            if (lowest.score >= increment) return;
+            ranked.pollFirst();
+            entries.remove(lowest.key);
+        }
+        entry = new Entry(key, increment);
+        entries.put(key, entry);
+        ranked.add(entry);
+    }
+
+    public synchronized void remove(UUID key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) ranked.remove(entry);
+    }
+
+    /**
+     * Best keys first with their score decayed to nowMillis
+     */
+    public synchronized List<Scored> top(int limit, long nowMillis) {
+        double decay = Math.exp(-lambdaPerMs * (nowMillis - landmarkMillis));
+        List<Scored> result = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<Entry> it = ranked.descendingIterator();
+        while (it.hasNext() && result.size() < limit) {
+            Entry e = it.next();
+            result.add(new Scored(e.key, e.score * decay));
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Move the landmark to now. Scores are re-inserted because rounding can turn near-equal scores into ties.
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-lambdaPerMs * (nowMillis - landmarkMillis));
+        List<Entry> all = new ArrayList<>(ranked);
+        ranked.clear();
+        for (Entry e : all) {
+            e.score *= factor;
+            ranked.add(e);
+        }
+        landmarkMillis = nowMillis;
+    }
+
+    public record Scored(UUID key, double score) {}
+
+    private static final class Entry {
+        private final UUID key;
+        private double score;
+
+        private Entry(UUID key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.danielvflores.writook.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+// IN-MEMORY FACET INDEX: ONE COMPRESSED (ROARING) BITMAP OF STORIES PER GENRE AND PER TAG.
+// STORIES ARE KEYED BY UUID BUT STORED UNDER DENSE int IDS GIVEN OUT IN CREATION ORDER, SO WALKING A
+// BITMAP BACKWARDS LISTS THE NEWEST STORIES FIRST. FILTERS AND COUNTS ARE BITMAP AND/OR, NO TABLE SCANS.
+// IDS ARE NOT REUSED (THAT WOULD BREAK THE ORDER); ONCE DELETED SLOTS OUTNUMBER LIVE STORIES THE INDEX IS
+// RENUMBERED IN PLACE, SO ITS SIZE STAYS WITHIN TWICE THE LIVE STORIES (PLUS A SMALL FLOOR) UNDER DELETE CHURN.
+public class FacetIndex {
+
+    // Fewer dead slots than this are not worth a renumbering pass
+    private static final int MIN_DEAD_TO_COMPACT = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> docIdsByKey = new HashMap<>();
+    private final List<UUID> keysByDocId = new ArrayList<>();
+    private final List<String[]> genresByDocId = new ArrayList<>();
+    private final List<String[]> tagsByDocId = new ArrayList<>();
+    private double[] ratings = new double[16];
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> genres = new HashMap<>();
+    private final Map<String, RoaringBitmap> tags = new HashMap<>();
+    private int dead;
+
+    /**
+     * Adds or replaces the facets of a story. New keys get the next doc id (newest).
+     */
+    public void put(UUID key, Collection<String> genreNames, Collection<String> tagNames, double rating) {
+        String[] g = genreNames != null ? genreNames.toArray(String[]::new) : new String[0];
+        String[] t = tagNames != null ? tagNames.toArray(String[]::new) : new String[0];
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdsByKey.get(key);
+            int docId;
+            if (existing != null) {
+                docId = existing;
+                unlink(docId);
+                genresByDocId.set(docId, g);
+                tagsByDocId.set(docId, t);
+            } else {
+                docId = keysByDocId.size();
+                docIdsByKey.put(key, docId);
+                keysByDocId.add(key);
+                genresByDocId.add(g);
+                tagsByDocId.add(t);
+                if (docId == ratings.length) ratings = Arrays.copyOf(ratings, docId * 2);
+            }
+            ratings[docId] = rating;
+            live.add(docId);
+            for (String name : g) genres.computeIfAbsent(name, n -> new RoaringBitmap()).add(docId);
+            for (String name : t) tags.computeIfAbsent(name, n -> new RoaringBitmap()).add(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setRating(UUID key, double rating) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.get(key);
+            if (docId != null) ratings[docId] = rating;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID key) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.remove(key);
+            if (docId == null) return;
+            unlink(docId);
+            live.remove(docId);
+            // The slot is left empty until the next compaction; ids are never reused so creation order is preserved
+            keysByDocId.set(docId, null);
+            genresByDocId.set(docId, new String[0]);
+            tagsByDocId.set(docId, new String[0]);
+            if (++dead >= MIN_DEAD_TO_COMPACT && dead > docIdsByKey.size()) compact();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stories matching every given facet, newest first, with the per-genre/per-tag counts of the whole match.
+     * Values inside one facet are combined with AND (matchAll) or OR; genres AND tags AND minRating.
+     */
+    public Result query(Collection<String> genreFilter, Collection<String> tagFilter, boolean matchAll,
+            Double minRating, int offset, int limit, int maxFacetValues) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = live.clone();
+            RoaringBitmap byGenre = combine(genres, genreFilter, matchAll);
+            if (byGenre != null) matches.and(byGenre);
+            RoaringBitmap byTag = combine(tags, tagFilter, matchAll);
+            if (byTag != null) matches.and(byTag);
+            if (minRating != null) {
+                RoaringBitmap rated = new RoaringBitmap();
+                IntIterator it = matches.getIntIterator();
+                while (it.hasNext()) {
+                    int docId = it.next();
+                    if (ratings[docId] >= minRating) rated.add(docId);
+                }
+                matches = rated;
+            }
+
+            List<UUID> page = new ArrayList<>(Math.max(limit, 0));
+            IntIterator newestFirst = matches.getReverseIntIterator();
+            int skipped = 0;
+            while (newestFirst.hasNext() && page.size() < limit) {
+                int docId = newestFirst.next();
+                if (skipped++ < offset) continue;
+                page.add(keysByDocId.get(docId));
+            }
+
+            return new Result(page, matches.getLongCardinality(), counts(genres, matches, maxFacetValues), counts(tags, matches, maxFacetValues));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Doc slots in use, live or dead
+    int slotCount() {
+        lock.readLock().lock();
+        try {
+            return keysByDocId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Renumbers live stories 0..n-1 keeping their relative (creation) order and rebuilds the bitmaps.
+    // Runs after at least as many removals as there are live stories, so its cost is amortized.
+    private void compact() {
+        List<UUID> keys = new ArrayList<>(docIdsByKey.size());
+        List<String[]> genreNames = new ArrayList<>(docIdsByKey.size());
+        List<String[]> tagNames = new ArrayList<>(docIdsByKey.size());
+        double[] compactRatings = new double[Math.max(16, docIdsByKey.size())];
+        for (int docId = 0; docId < keysByDocId.size(); docId++) {
+            UUID key = keysByDocId.get(docId);
+            if (key == null) continue;
+            compactRatings[keys.size()] = ratings[docId];
+            docIdsByKey.put(key, keys.size());
+            keys.add(key);
+            genreNames.add(genresByDocId.get(docId));
+            tagNames.add(tagsByDocId.get(docId));
+        }
+        keysByDocId.clear();
+        keysByDocId.addAll(keys);
+        genresByDocId.clear();
+        genresByDocId.addAll(genreNames);
+        tagsByDocId.clear();
+        tagsByDocId.addAll(tagNames);
+        ratings = compactRatings;
+        live.clear();
+        genres.clear();
+        tags.clear();
+        for (int docId = 0; docId < keys.size(); docId++) {
+            live.add(docId);
+            for (String name : genreNames.get(docId)) genres.computeIfAbsent(name, n -> new RoaringBitmap()).add(docId);
+            for (String name : tagNames.get(docId)) tags.computeIfAbsent(name, n -> new RoaringBitmap()).add(docId);
+        }
+        dead = 0;
+    }
+
+    private void unlink(int docId) {
+        for (String name : genresByDocId.get(docId)) removeFrom(genres, name, docId);
+        for (String name : tagsByDocId.get(docId)) removeFrom(tags, name, docId);
+    }
+
+    private static void removeFrom(Map<String, RoaringBitmap> facet, String name, int docId) {
+        RoaringBitmap bitmap = facet.get(name);
+        if (bitmap == null) return;
+        bitmap.remove(docId);
+        if (bitmap.isEmpty()) facet.remove(name);
+    }
+
+    // null = no constraint on this facet
+    private static RoaringBitmap combine(Map<String, RoaringBitmap> facet, Collection<String> values, boolean matchAll) {
+        if (values == null || values.isEmpty()) return null;
+        RoaringBitmap result = null;
+        for (String value : values) {
+            RoaringBitmap bitmap = facet.getOrDefault(value, new RoaringBitmap());
+            if (result == null) {
+                result = bitmap.clone();
+            } else if (matchAll) {
+                result.and(bitmap);
+            } else {
+                result.or(bitmap);
+            }
+        }
+        return result;
+    }
+
+    // Largest counts first, only values present in the match
+    private static Map<String, Long> counts(Map<String, RoaringBitmap> facet, RoaringBitmap matches, int maxValues) {
+        List<Map.Entry<String, Long>> counted = new ArrayList<>();
+        for (Map.Entry<String, RoaringBitmap> e : facet.entrySet()) {
+            long count = RoaringBitmap.andCardinality(e.getValue(), matches);
+            if (count > 0) counted.add(Map.entry(e.getKey(), count));
+        }
+        counted.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : counted) {
+            if (result.size() >= maxValues) break;
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    public record Result(List<UUID> page, long total, Map<String, Long> genreCounts, Map<String, Long> tagCounts) {}
+}
@@ -0,0 +1,269 @@
+package com.danielvflores.writook.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+// ITEM-TO-ITEM COSINE SIMILARITY OVER BINARY "LIKES" (READERS WHO LIKED THIS ALSO LIKED...).
+// LIKES ARE KEPT AS TWO COMPRESSED-SPARSE-ROW int ARRAYS (USER -> ITEMS AND ITEM -> USERS), SO THE BUILD NEEDS
+// ~8 BYTES PER LIKE PLUS A FEW ints PER ITEM; THE FULL ITEM x ITEM MATRIX IS NEVER MATERIALIZED.
+// ONLY THE TOP-N NEIGHBOURS OF EACH ITEM ARE KEPT (8 BYTES EACH, GROWN AS THEY ARE FOUND), AND UUIDS ARE
+// MAPPED TO DENSE ids WITH AN OPEN-ADDRESSING TABLE OF PRIMITIVES INSTEAD OF A BOXED HashMap.
+public class ItemSimilarity {
+
+    private final ItemIds itemIds;
+    private final UUID[] items;
+    private final int[] neighbourOffsets;
+    private final int[] neighbours;
+    private final float[] scores;
+
+    private ItemSimilarity(ItemIds itemIds, UUID[] items, int[] neighbourOffsets, int[] neighbours, float[] scores) {
+        this.itemIds = itemIds;
+        this.items = items;
+        this.neighbourOffsets = neighbourOffsets;
+        this.neighbours = neighbours;
+        this.scores = scores;
+    }
+
+    public static ItemSimilarity empty() {
+        return new ItemSimilarity(new ItemIds(), new UUID[0], new int[] { 0 }, new int[0], new float[0]);
+    }
+
+    /**
+     * Most similar items first (at most the N kept at build time)
+     */
+    public List<UUID> neighboursOf(UUID item, int limit) {
+        int id = itemIds.get(item);
+        if (id < 0) return List.of();
+        int from = neighbourOffsets[id];
+        int to = Math.min(neighbourOffsets[id + 1], from + Math.max(limit, 0));
+        List<UUID> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) result.add(items[neighbours[i]]);
+        return result;
+    }
+
+    public float similarity(UUID item, UUID other) {
+        int id = itemIds.get(item);
+        int otherId = itemIds.get(other);
+        if (id < 0 || otherId < 0) return 0f;
+        for (int i = neighbourOffsets[id]; i < neighbourOffsets[id + 1]; i++) {
+            if (neighbours[i] == otherId) return scores[i];
+        }
+        return 0f;
+    }
+
+    public int itemCount() {
+        return items.length;
+    }
+
+    // Users must be added one at a time with all of their likes
+    public static class Builder {
+        private final int maxItemsPerUser;
+        private final ItemIds itemIds = new ItemIds();
+        private final List<UUID> items = new ArrayList<>();
+        private int[] userOffsets = new int[1024];
+        private int[] userItems = new int[4096];
+        private int users;
+        private int likes;
+
+        /**
+         * @param maxItemsPerUser likes kept per user; caps the O(likes^2) pair work a single heavy user can cause
+         */
+        public Builder(int maxItemsPerUser) {
+            this.maxItemsPerUser = maxItemsPerUser;
+        }
+
+        public void addUser(List<UUID> likedItems) {
+            if (likedItems.size() < 2) return; // a single like co-occurs with nothing
+            int count = Math.min(likedItems.size(), maxItemsPerUser);
+            if (users + 2 > userOffsets.length) userOffsets = Arrays.copyOf(userOffsets, userOffsets.length * 2);
+            if (likes + count > userItems.length) userItems = Arrays.copyOf(userItems, Math.max(userItems.length * 2, likes + count));
+            for (int i = 0; i < count; i++) {
+                UUID item = likedItems.get(i);
+                int id = itemIds.getOrAdd(item, items.size());
+                if (id == items.size()) items.add(item);
+                userItems[likes++] = id;
+            }
+            userOffsets[++users] = likes;
+        }
+
+        /**
+         * @param topN neighbours kept per item
+         * @param minCoLikes pairs liked together by fewer users are ignored as noise
+         */
+        public ItemSimilarity build(int topN, int minCoLikes) {
+            int itemCount = items.size();
+
+            // Invert user -> items into item -> users (counting sort)
+            int[] degree = new int[itemCount];
+            for (int i = 0; i < likes; i++) degree[userItems[i]]++;
+            int[] itemOffsets = new int[itemCount + 1];
+            for (int i = 0; i < itemCount; i++) itemOffsets[i + 1] = itemOffsets[i] + degree[i];
+            int[] itemUsers = new int[likes];
+            int[] cursor = Arrays.copyOf(itemOffsets, itemCount);
+            for (int u = 0; u < users; u++) {
+                for (int k = userOffsets[u]; k < userOffsets[u + 1]; k++) itemUsers[cursor[userItems[k]]++] = u;
+            }
+
+            int[] coLikes = new int[itemCount];
+            int[] touched = new int[itemCount];
+            int[] neighbourOffsets = new int[itemCount + 1];
+            // Most stories have few neighbours above minCoLikes, so the output grows with what is actually kept
+            int[] neighbours = new int[Math.min(itemCount, 1024)];
+            float[] scores = new float[neighbours.length];
+            int[] heapItems = new int[topN];
+            float[] heapScores = new float[topN];
+            int written = 0;
+
+            for (int i = 0; i < itemCount; i++) {
+                int touchedCount = 0;
+                for (int k = itemOffsets[i]; k < itemOffsets[i + 1]; k++) {
+                    int u = itemUsers[k];
+                    for (int m = userOffsets[u]; m < userOffsets[u + 1]; m++) {
+                        int j = userItems[m];
+                        if (j == i) continue;
+                        if (coLikes[j]++ == 0) touched[touchedCount++] = j;
+                    }
+                }
+
+                int heapSize = 0;
+                for (int t = 0; t < touchedCount; t++) {
+                    int j = touched[t];
+                    int together = coLikes[j];
+                    coLikes[j] = 0;
+                    if (together < minCoLikes) continue;
+                    float score = (float) (together / Math.sqrt((double) degree[i] * degree[j]));
+                    if (heapSize < topN) {
+                        heapItems[heapSize] = j;
+                        heapScores[heapSize] = score;
+                        siftUp(heapItems, heapScores, heapSize++);
+                    } else if (score > heapScores[0]) {
+                        heapItems[0] = j;
+                        heapScores[0] = score;
+                        siftDown(heapItems, heapScores, heapSize);
+                    }
+                }
+
+                // Pop the min-heap from the back so the best neighbour ends up first
+                neighbourOffsets[i] = written;
+                if (written + heapSize > neighbours.length) {
+                    int capacity = Math.max(written + heapSize, neighbours.length + (neighbours.length >> 1));
+                    neighbours = Arrays.copyOf(neighbours, capacity);
+                    scores = Arrays.copyOf(scores, capacity);
+                }
+                written += heapSize;
+                for (int pos = written - 1; heapSize > 0; pos--) {
+                    neighbours[pos] = heapItems[0];
+                    scores[pos] = heapScores[0];
+                    heapSize--;
+                    heapItems[0] = heapItems[heapSize];
+                    heapScores[0] = heapScores[heapSize];
+                    siftDown(heapItems, heapScores, heapSize);
+                }
+            }
+            neighbourOffsets[itemCount] = written;
+
+            if (written < neighbours.length) {
+                neighbours = Arrays.copyOf(neighbours, written);
+                scores = Arrays.copyOf(scores, written);
+            }
+            return new ItemSimilarity(itemIds, items.toArray(UUID[]::new), neighbourOffsets, neighbours, scores);
+        }
+
+        private static void siftUp(int[] heapItems, float[] heapScores, int pos) {
+            while (pos > 0) {
+                int parent = (pos - 1) / 2;
+                if (heapScores[parent] <= heapScores[pos]) return;
+                swap(heapItems, heapScores, parent, pos);
+                pos = parent;
+            }
+        }
+
+        private static void siftDown(int[] heapItems, float[] heapScores, int size) {
+            int pos = 0;
+            while (true) {
+                int smallest = pos;
+                int left = 2 * pos + 1;
+                int right = left + 1;
+                if (left < size && heapScores[left] < heapScores[smallest]) smallest = left;
+                if (right < size && heapScores[right] < heapScores[smallest]) smallest = right;
+                if (smallest == pos) return;
+                swap(heapItems, heapScores, pos, smallest);
+                pos = smallest;
+            }
+        }
+
+        private static void swap(int[] heapItems, float[] heapScores, int a, int b) {
+            int item = heapItems[a];
+            heapItems[a] = heapItems[b];
+            heapItems[b] = item;
+            float score = heapScores[a];
+            heapScores[a] = heapScores[b];
+            heapScores[b] = score;
+        }
+    }
+
+    // Open-addressing UUID -> dense id table on primitive arrays (two longs and an int per slot, load <= 1/2)
+    private static final class ItemIds {
+        private long[] mostBits = new long[16];
+        private long[] leastBits = new long[16];
+        private int[] ids = filled(16);
+        private int size;
+
+        // -1 when absent
+        int get(UUID key) {
+            int mask = ids.length - 1;
+            for (int slot = slot(key, mask); ids[slot] >= 0; slot = (slot + 1) & mask) {
+                if (mostBits[slot] == key.getMostSignificantBits() && leastBits[slot] == key.getLeastSignificantBits()) return ids[slot];
+            }
+            return -1;
+        }
+
+        // Existing id of the key, or nextId after storing it
+        int getOrAdd(UUID key, int nextId) {
+            int existing = get(key);
+            if (existing >= 0) return existing;
+            if ((size + 1) * 2 > ids.length) resize();
+            insert(key.getMostSignificantBits(), key.getLeastSignificantBits(), nextId);
+            size++;
+            return nextId;
+        }
+
+        private void insert(long most, long least, int id) {
+            int mask = ids.length - 1;
+            int slot = slot(most, least, mask);
+            while (ids[slot] >= 0) slot = (slot + 1) & mask;
+            mostBits[slot] = most;
+            leastBits[slot] = least;
+            ids[slot] = id;
+        }
+
+        private void resize() {
+            long[] oldMost = mostBits;
+            long[] oldLeast = leastBits;
+            int[] oldIds = ids;
+            mostBits = new long[oldIds.length * 2];
+            leastBits = new long[oldIds.length * 2];
+            ids = filled(oldIds.length * 2);
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldIds[i] >= 0) insert(oldMost[i], oldLeast[i], oldIds[i]);
+            }
+        }
+
+        private static int slot(UUID key, int mask) {
+            return slot(key.getMostSignificantBits(), key.getLeastSignificantBits(), mask);
+        }
+
+        private static int slot(long most, long least, int mask) {
+            long h = (most ^ least) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private static int[] filled(int length) {
+            int[] array = new int[length];
+            Arrays.fill(array, -1);
+            return array;
+        }
+    }
+}
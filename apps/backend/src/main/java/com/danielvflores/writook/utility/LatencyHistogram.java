@@ -0,0 +1,54 @@
+package com.danielvflores.writook.utility;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// LOCK-FREE LATENCY HISTOGRAM WITH POWER-OF-TWO MICROSECOND BUCKETS (1 us ... ~35 min).
+// RECORDING IS ONE LongAdder INCREMENT; PERCENTILES ARE REPORTED AS THE UPPER BOUND OF THEIR BUCKET,
+// SO THEY ARE AT MOST 2x PESSIMISTIC, WHICH IS ENOUGH TO SEE A QUEUE BUILDING UP.
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 32;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) counts[i] = new LongAdder();
+    }
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(nanos / 1_000, 0);
+        // Bucket b holds values in [2^(b-1), 2^b) us; bucket 0 holds 0 us
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+        counts[bucket].increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public Snapshot snapshot() {
+        long[] c = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            c[i] = counts[i].sum();
+            count += c[i];
+        }
+        double mean = count > 0 ? totalMicros.sum() / (double) count / 1_000 : 0;
+        return new Snapshot(count, mean, percentile(c, count, 0.50), percentile(c, count, 0.99), maxMicros.get() / 1_000.0);
+    }
+
+    // Upper bound of the bucket holding the q-th value, in milliseconds
+    private static double percentile(long[] c, long count, double q) {
+        if (count == 0) return 0;
+        long rank = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += c[i];
+            if (seen >= rank) return (1L << i) / 1_000.0;
+        }
+        return (1L << (BUCKETS - 1)) / 1_000.0;
+    }
+
+    public record Snapshot(long count, double meanMillis, double p50Millis, double p99Millis, double maxMillis) {}
+}
@@ -4,7 +4,9 @@ import java.util.Date;
 
 import javax.crypto.SecretKey;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -12,46 +14,36 @@ public class TokenJWTUtility {
     private static final String SECRET_KEY = "my-super-secret-key-which-should-be-long-and-random-1234567890";
     private static final long EXPIRATION_TIME = 86400000;
 
-    private static SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
-    }
-
+    // Built once: the key and the parser are immutable and thread-safe
+    private static final SecretKey SIGNING_KEY = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private static final JwtParser PARSER = Jwts.parser().verifyWith(SIGNING_KEY).build();
 
     public static String generateToken(String username) {
         return Jwts.builder()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey())
+                .signWith(SIGNING_KEY)
                 .compact();
     }
 
-    public static String getUsernameFromToken(String token) {
+    /**
+     * Verified claims of the token, or null if the signature is wrong, it's expired or malformed
+     */
+    public static Claims parseClaims(String token) {
         try {
-            System.out.println("Intentando extraer username del token: " + token);
-            String username = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-            System.out.println("Username extraído exitosamente: " + username);
-            return username;
+            return PARSER.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            System.out.println("Error al extraer username del token: " + e.getMessage());
             return null;
         }
     }
 
+    public static String getUsernameFromToken(String token) {
+        Claims claims = parseClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
+
     public static boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseClaims(token) != null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,22 @@
+package com.danielvflores.writook.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// RUNS IN-MEMORY SIDE EFFECTS (INDEXES, CACHES, EVENTS) ONLY ONCE THE DATABASE WRITE IS COMMITTED,
+// SO A ROLLBACK NEVER LEAVES THEM AHEAD OF THE DATABASE. OUTSIDE A TRANSACTION IT RUNS IMMEDIATELY.
+public class TransactionUtility {
+
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
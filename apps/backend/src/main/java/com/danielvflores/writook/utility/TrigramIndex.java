@@ -0,0 +1,214 @@
+package com.danielvflores.writook.utility;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// IN-MEMORY TRIGRAM INVERTED INDEX FOR TYPO-TOLERANT LOOKUPS (SIMILAR TO pg_trgm).
+// DOCUMENTS ARE KEYED BY UUID BUT STORED UNDER DENSE int IDS, AND EVERY POSTING LIST IS A SORTED int[],
+// SO THE INDEX STAYS SMALL IN HEAP. READS SHARE A LOCK; WRITES ARE EXCLUSIVE.
+public class TrigramIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, Integer> docIdsByKey = new HashMap<>();
+    private final List<UUID> keysByDocId = new ArrayList<>();
+    private final List<long[]> gramsByDocId = new ArrayList<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    // Slots of removed documents, handed out again by put() so ids stay dense
+    private int[] freeDocIds = new int[0];
+    private int freeCount;
+
+    /**
+     * Adds or replaces the text indexed for the given key
+     */
+    public void put(UUID key, String text) {
+        long[] grams = trigrams(text);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIdsByKey.get(key);
+            int docId;
+            if (existing != null) {
+                docId = existing;
+                for (long gram : gramsByDocId.get(docId)) {
+                    Postings p = postings.get(gram);
+                    if (p != null && p.remove(docId) && p.size == 0) postings.remove(gram);
+                }
+                gramsByDocId.set(docId, grams);
+            } else if (freeCount > 0) {
+                docId = freeDocIds[--freeCount];
+                docIdsByKey.put(key, docId);
+                keysByDocId.set(docId, key);
+                gramsByDocId.set(docId, grams);
+            } else {
+                docId = keysByDocId.size();
+                docIdsByKey.put(key, docId);
+                keysByDocId.add(key);
+                gramsByDocId.add(grams);
+            }
+            for (long gram : grams) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID key) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIdsByKey.remove(key);
+            if (docId == null) return;
+            for (long gram : gramsByDocId.get(docId)) {
+                Postings p = postings.get(gram);
+                if (p != null && p.remove(docId) && p.size == 0) postings.remove(gram);
+            }
+            keysByDocId.set(docId, null);
+            gramsByDocId.set(docId, new long[0]);
+            if (freeCount == freeDocIds.length) freeDocIds = Arrays.copyOf(freeDocIds, freeCount * 2 + 4);
+            freeDocIds[freeCount++] = docId;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keys ranked by how many of the query trigrams they contain (ties: closest overall length first).
+     * Only documents sharing at least minSimilarity of the query trigrams are returned.
+     */
+    public List<UUID> search(String query, int limit, double minSimilarity) {
+        long[] queryGrams = trigrams(query);
+        if (queryGrams.length == 0 || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            // Only documents sharing a trigram are counted, so a query costs its postings, not the catalog
+            int touchedPostings = 0;
+            Postings[] lists = new Postings[queryGrams.length];
+            for (int g = 0; g < queryGrams.length; g++) {
+                lists[g] = postings.get(queryGrams[g]);
+                if (lists[g] != null) touchedPostings += lists[g].size;
+            }
+            DocCounts shared = new DocCounts(Math.min(touchedPostings, docIdsByKey.size()));
+            for (Postings p : lists) {
+                if (p == null) continue;
+                for (int i = 0; i < p.size; i++) shared.increment(p.ids[i]);
+            }
+
+            PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble((Match m) -> m.score).thenComparingDouble(m -> m.jaccard));
+            for (int slot = 0; slot < shared.keys.length; slot++) {
+                int docId = shared.keys[slot];
+                if (docId == DocCounts.EMPTY) continue;
+                int count = shared.counts[slot];
+                double score = (double) count / queryGrams.length;
+                if (score < minSimilarity) continue;
+                int docGrams = gramsByDocId.get(docId).length;
+                double jaccard = (double) count / (queryGrams.length + docGrams - count);
+                top.offer(new Match(docId, score, jaccard));
+                if (top.size() > limit) top.poll();
+            }
+
+            List<UUID> result = new ArrayList<>(top.size());
+            while (!top.isEmpty()) result.add(keysByDocId.get(top.poll().docId));
+            java.util.Collections.reverse(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIdsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lowercase, strip accents, and pad every word like pg_trgm: "  w" ... "d " so short words and prefixes still match
+    static long[] trigrams(String text) {
+        if (text == null) return new long[0];
+        String normalized = Normalizer.normalize(text.toLowerCase(), Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (long gram : grams) result[i++] = gram;
+        return result;
+    }
+
+    private record Match(int docId, double score, double jaccard) {}
+
+    // Open-addressing docId -> shared trigram count, sized for the documents a query can touch
+    private static final class DocCounts {
+        static final int EMPTY = -1;
+
+        final int[] keys;
+        final int[] counts;
+        private final int mask;
+
+        DocCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 4) * 2 - 1) << 1;
+            keys = new int[capacity];
+            counts = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void increment(int docId) {
+            int h = docId * 0x9E3779B9;
+            int slot = (h ^ (h >>> 16)) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != docId) slot = (slot + 1) & mask;
+            keys[slot] = docId;
+            counts[slot]++;
+        }
+    }
+
+    // Sorted, growable int array
+    private static final class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int docId) {
+            if (size > 0 && ids[size - 1] >= docId) {
+                int pos = Arrays.binarySearch(ids, 0, size, docId);
+                if (pos >= 0) return;
+                insertAt(-pos - 1, docId);
+                return;
+            }
+            insertAt(size, docId);
+        }
+
+        boolean remove(int docId) {
+            int pos = Arrays.binarySearch(ids, 0, size, docId);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            if (size > 0 && size < ids.length / 4) ids = Arrays.copyOf(ids, ids.length / 2);
+            return true;
+        }
+
+        private void insertAt(int pos, int docId) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = docId;
+            size++;
+        }
+    }
+}
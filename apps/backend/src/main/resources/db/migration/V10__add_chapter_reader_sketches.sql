@@ -0,0 +1,19 @@
+-- V10__add_chapter_reader_sketches.sql
+-- One HyperLogLog sketch (~2 KB) per chapter estimating its distinct readers
+
+CREATE TABLE IF NOT EXISTS chapter_reader_sketches (
+  story_id UUID NOT NULL REFERENCES stories(id) ON DELETE CASCADE,
+  chapter_number INT NOT NULL,
+  sketch BYTEA NOT NULL,
+  updated_at TIMESTAMP WITH TIME ZONE DEFAULT now(),
+  PRIMARY KEY (story_id, chapter_number)
+);
+
+-- Grant permissions to application user if it exists
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_catalog.pg_roles WHERE rolname = 'writook_user') THEN
+        GRANT ALL PRIVILEGES ON chapter_reader_sketches TO writook_user;
+    END IF;
+END
+$$;
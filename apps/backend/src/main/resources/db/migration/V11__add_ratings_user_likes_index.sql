@@ -0,0 +1,4 @@
+-- V11__add_ratings_user_likes_index.sql
+-- Lets the recommendation job read every user's liked stories (4-5 stars) grouped by user with an index scan
+
+CREATE INDEX IF NOT EXISTS idx_ratings_user_likes ON ratings (user_id, story_id) WHERE rating_value >= 4;
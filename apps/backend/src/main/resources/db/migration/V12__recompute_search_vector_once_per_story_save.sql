@@ -0,0 +1,8 @@
+-- V12__recompute_search_vector_once_per_story_save.sql
+-- The per-row genre/tag link triggers from V6 rewrote the story row (and its GIN entries) once per link,
+-- so saving a story with N genres and tags recomputed search_vector N times in the same transaction.
+-- StoryService now recomputes it once after syncing the links (StoryRepository.refreshSearchVector).
+
+DROP TRIGGER IF EXISTS trg_refresh_search_vector_story_genres ON story_genres;
+DROP TRIGGER IF EXISTS trg_refresh_search_vector_story_tags ON story_tags;
+DROP FUNCTION IF EXISTS refresh_story_search_vector_from_link();
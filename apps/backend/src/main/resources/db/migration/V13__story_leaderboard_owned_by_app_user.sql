@@ -0,0 +1,17 @@
+-- V13__story_leaderboard_owned_by_app_user.sql
+-- REFRESH MATERIALIZED VIEW (CONCURRENTLY or not) requires owning the view; privileges granted in V7 are not enough.
+-- When migrations run as a different role than the application, hand the view over to writook_user so
+-- LeaderboardService's scheduled refresh can run. If this role may not do that, both must use the same role.
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_catalog.pg_roles WHERE rolname = 'writook_user') AND current_user <> 'writook_user' THEN
+        IF pg_has_role(current_user, 'writook_user', 'MEMBER')
+           OR (SELECT rolsuper FROM pg_catalog.pg_roles WHERE rolname = current_user) THEN
+            ALTER MATERIALIZED VIEW story_leaderboard OWNER TO writook_user;
+        ELSE
+            RAISE WARNING 'story_leaderboard stays owned by %: run the application as that role or the leaderboard refresh will fail', current_user;
+        END IF;
+    END IF;
+END
+$$;
@@ -0,0 +1,10 @@
+-- V4__add_story_catalog_keyset_index.sql
+-- Support keyset (created_at, id) pagination of the story catalog
+
+-- Older rows may have lost created_at when a story was updated; give them a stable value
+UPDATE stories SET created_at = COALESCE(updated_at, now()) WHERE created_at IS NULL;
+
+ALTER TABLE stories ALTER COLUMN created_at SET NOT NULL;
+
+-- Matches ORDER BY created_at DESC, id DESC used by the catalog endpoint
+CREATE INDEX IF NOT EXISTS idx_stories_created_id ON stories(created_at DESC, id DESC);
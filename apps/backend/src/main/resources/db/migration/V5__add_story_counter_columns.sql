@@ -0,0 +1,36 @@
+-- V5__add_story_counter_columns.sql
+-- Maintained aggregate columns on stories so stats reads are a primary-key lookup
+
+ALTER TABLE stories
+    ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS rating_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS chapter_count INTEGER NOT NULL DEFAULT 0;
+
+-- Counter updates are not edits: only refresh updated_at when story content changes
+DROP TRIGGER IF EXISTS trg_refresh_updated_at_stories ON stories;
+
+-- Backfill from the source tables
+UPDATE stories s
+SET rating_sum = r.total,
+    rating_count = r.cnt,
+    rating = CAST(r.total AS DOUBLE PRECISION) / r.cnt
+FROM (SELECT story_id, SUM(rating_value) AS total, COUNT(*) AS cnt FROM ratings GROUP BY story_id) r
+WHERE s.id = r.story_id;
+
+UPDATE stories SET rating = 0 WHERE rating_count = 0;
+
+UPDATE stories s
+SET comment_count = c.cnt
+FROM (SELECT story_id, COUNT(*) AS cnt FROM comments GROUP BY story_id) c
+WHERE s.id = c.story_id;
+
+UPDATE stories s
+SET chapter_count = ch.cnt
+FROM (SELECT story_id, COUNT(*) AS cnt FROM chapters GROUP BY story_id) ch
+WHERE s.id = ch.story_id;
+
+CREATE TRIGGER trg_refresh_updated_at_stories
+BEFORE UPDATE OF title, synopsis, author_id, author_username, author_email,
+    author_display_name, author_bio, author_profile_picture_url ON stories
+FOR EACH ROW EXECUTE PROCEDURE refresh_updated_at_column();
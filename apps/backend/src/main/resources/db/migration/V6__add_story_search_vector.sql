@@ -0,0 +1,76 @@
+-- V6__add_story_search_vector.sql
+-- Full-text search over title, author, genre/tag names and synopsis, backed by a GIN index
+
+ALTER TABLE stories ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Weighted document: title (A) > author (B) > genres/tags (C) > synopsis (D).
+-- 'simple' keeps the index language-neutral (stories are written in several languages).
+CREATE OR REPLACE FUNCTION story_search_document(p_story_id UUID, p_title TEXT, p_synopsis TEXT,
+                                                 p_author_display_name TEXT, p_author_username TEXT)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('simple', coalesce(p_title, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(p_author_display_name, '') || ' ' || coalesce(p_author_username, '')), 'B')
+        || setweight(to_tsvector('simple',
+               coalesce((SELECT string_agg(g.name, ' ') FROM story_genres sg JOIN genres g ON g.id = sg.genre_id
+                         WHERE sg.story_id = p_story_id), '')
+               || ' ' ||
+               coalesce((SELECT string_agg(t.name, ' ') FROM story_tags st JOIN tags t ON t.id = st.tag_id
+                         WHERE st.story_id = p_story_id), '')), 'C')
+        || setweight(to_tsvector('simple', coalesce(p_synopsis, '')), 'D');
+$$ LANGUAGE sql STABLE;
+
+-- Stories: recompute when a searchable column changes
+CREATE OR REPLACE FUNCTION refresh_story_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+  NEW.search_vector = story_search_document(NEW.id, NEW.title, NEW.synopsis, NEW.author_display_name, NEW.author_username);
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_refresh_search_vector_stories
+BEFORE INSERT OR UPDATE OF title, synopsis, author_display_name, author_username ON stories
+FOR EACH ROW EXECUTE PROCEDURE refresh_story_search_vector();
+
+-- Genre/tag links: recompute the owning story when a link is added or removed
+CREATE OR REPLACE FUNCTION refresh_story_search_vector_from_link()
+RETURNS TRIGGER AS $$
+DECLARE
+  target UUID;
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    target := OLD.story_id;
+  ELSE
+    target := NEW.story_id;
+  END IF;
+  UPDATE stories s
+  SET search_vector = story_search_document(s.id, s.title, s.synopsis, s.author_display_name, s.author_username)
+  WHERE s.id = target;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_refresh_search_vector_story_genres
+AFTER INSERT OR DELETE ON story_genres
+FOR EACH ROW EXECUTE PROCEDURE refresh_story_search_vector_from_link();
+
+CREATE TRIGGER trg_refresh_search_vector_story_tags
+AFTER INSERT OR DELETE ON story_tags
+FOR EACH ROW EXECUTE PROCEDURE refresh_story_search_vector_from_link();
+
+-- Backfill existing stories
+UPDATE stories s
+SET search_vector = story_search_document(s.id, s.title, s.synopsis, s.author_display_name, s.author_username);
+
+CREATE INDEX IF NOT EXISTS idx_stories_search_vector ON stories USING GIN (search_vector);
+
+-- Grant permissions to application user if it exists
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_catalog.pg_roles WHERE rolname = 'writook_user') THEN
+        GRANT EXECUTE ON FUNCTION story_search_document(UUID, TEXT, TEXT, TEXT, TEXT) TO writook_user;
+        GRANT EXECUTE ON FUNCTION refresh_story_search_vector() TO writook_user;
+        GRANT EXECUTE ON FUNCTION refresh_story_search_vector_from_link() TO writook_user;
+    END IF;
+END
+$$;
@@ -0,0 +1,31 @@
+-- V7__add_story_leaderboard.sql
+-- Top-rated leaderboard with a Bayesian-weighted score, kept in a materialized view
+
+-- score = (C * m + rating_sum) / (C + rating_count)
+--   m: mean rating across the whole catalog
+--   C: prior weight (10 ratings); stories with few ratings are pulled towards m
+CREATE MATERIALIZED VIEW IF NOT EXISTS story_leaderboard AS
+WITH prior AS (
+    SELECT COALESCE(CAST(SUM(rating_sum) AS DOUBLE PRECISION) / NULLIF(SUM(rating_count), 0), 0) AS mean
+    FROM stories
+)
+SELECT s.id AS story_id,
+       (10 * prior.mean + s.rating_sum) / (10 + s.rating_count) AS score,
+       s.rating_count
+FROM stories s CROSS JOIN prior
+WHERE s.rating_count > 0;
+
+-- Required by REFRESH MATERIALIZED VIEW CONCURRENTLY
+CREATE UNIQUE INDEX IF NOT EXISTS idx_story_leaderboard_story ON story_leaderboard(story_id);
+
+-- Serves ORDER BY score DESC, story_id LIMIT/OFFSET without sorting
+CREATE INDEX IF NOT EXISTS idx_story_leaderboard_score ON story_leaderboard(score DESC, story_id);
+
+-- Grant permissions to application user if it exists
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM pg_catalog.pg_roles WHERE rolname = 'writook_user') THEN
+        GRANT ALL PRIVILEGES ON story_leaderboard TO writook_user;
+    END IF;
+END
+$$;
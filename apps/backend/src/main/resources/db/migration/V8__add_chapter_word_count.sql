@@ -0,0 +1,16 @@
+-- V8__add_chapter_word_count.sql
+-- Word count kept on the row so the table of contents never has to read chapter content
+
+ALTER TABLE chapters ADD COLUMN IF NOT EXISTS word_count INTEGER NOT NULL DEFAULT 0;
+
+-- Backfilling is not an edit: keep updated_at as it is
+ALTER TABLE chapters DISABLE TRIGGER trg_refresh_updated_at_chapters;
+
+-- Same rule as ChapterEntity.countWords: whitespace-separated tokens
+UPDATE chapters c
+SET word_count = CASE WHEN t.body = '' THEN 0
+                      ELSE array_length(regexp_split_to_array(t.body, '\s+'), 1) END
+FROM (SELECT id, regexp_replace(content, '^\s+|\s+$', '', 'g') AS body FROM chapters) t
+WHERE c.id = t.id;
+
+ALTER TABLE chapters ENABLE TRIGGER trg_refresh_updated_at_chapters;
@@ -0,0 +1,12 @@
+-- V9__add_chapter_content_hash.sql
+-- SHA-256 of the chapter content so story edits can tell which chapters really changed
+
+ALTER TABLE chapters ADD COLUMN IF NOT EXISTS content_hash CHAR(64);
+
+-- Backfilling is not an edit: keep updated_at as it is
+ALTER TABLE chapters DISABLE TRIGGER trg_refresh_updated_at_chapters;
+
+-- Same digest as ChapterEntity.contentHash (UTF-8 bytes, lowercase hex)
+UPDATE chapters SET content_hash = encode(sha256(convert_to(content, 'UTF8')), 'hex');
+
+ALTER TABLE chapters ENABLE TRIGGER trg_refresh_updated_at_chapters;
@@ -0,0 +1,96 @@
+package com.danielvflores.writook.security;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void testDelegatesAndRecordsLatency() {
+        // Arrange
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(null), 1, 1, 1_000)) {
+
+            // Act
+            String encoded = encoder.encode("secret");
+            boolean matches = encoder.matches("secret", encoded);
+
+            // Assert
+            assertEquals("{plain}secret", encoded);
+            assertTrue(matches);
+            assertEquals(2, encoder.metrics().hashing().count());
+        }
+    }
+
+    @Test
+    void testRejectsFastWhenPoolAndQueueAreFull() throws Exception {
+        // Arrange: one worker blocked, one request queued behind it
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(release), 1, 1, 5_000)) {
+            callers.submit(() -> encoder.encode("a"));
+            waitFor(() -> encoder.metrics().active() == 1);
+            callers.submit(() -> encoder.encode("b"));
+            waitFor(() -> encoder.metrics().queued() == 1);
+
+            // Act & Assert
+            assertThrows(BoundedPasswordEncoder.BusyException.class, () -> encoder.encode("c"));
+            assertEquals(1, encoder.metrics().rejected());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTimesOutWhenWaitIsTooLong() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new PlainEncoder(release), 1, 1, 50)) {
+
+            // Act & Assert
+            assertThrows(BoundedPasswordEncoder.BusyException.class, () -> encoder.encode("slow"));
+            assertEquals(1, encoder.metrics().timedOut());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void waitFor(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) Thread.sleep(5);
+    }
+
+    // Stands in for BCrypt; optionally blocks until released to simulate a saturated pool
+    private static class PlainEncoder implements PasswordEncoder {
+        private final CountDownLatch release;
+
+        PlainEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.danielvflores.writook.security;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+import com.danielvflores.writook.utility.TokenJWTUtility;
+
+import io.jsonwebtoken.Claims;
+
+class JwtTokenVerifierTest {
+
+    private final AtomicInteger signatureChecks = new AtomicInteger();
+    private final AtomicLong now = new AtomicLong(System.currentTimeMillis());
+    private final JwtTokenVerifier verifier = new JwtTokenVerifier(token -> {
+        signatureChecks.incrementAndGet();
+        return TokenJWTUtility.parseClaims(token);
+    }, now::get);
+
+    @Test
+    void testValidTokenReturnsSubjectAndIsServedFromCache() {
+        // Arrange
+        String token = TokenJWTUtility.generateToken("writer");
+
+        // Act
+        String first = verifier.verify(token);
+        String second = verifier.verify(token);
+
+        // Assert: the signature is checked once, the second call is a cache hit
+        assertEquals("writer", first);
+        assertEquals("writer", second);
+        assertEquals(1, signatureChecks.get());
+        assertEquals(1, verifier.cachedTokenCount());
+    }
+
+    @Test
+    void testCachedTokenIsRejectedOnceExpired() {
+        // Arrange
+        String token = TokenJWTUtility.generateToken("writer");
+        Claims claims = TokenJWTUtility.parseClaims(token);
+        verifier.verify(token);
+
+        // Act
+        now.set(claims.getExpiration().getTime() + 1);
+        String afterExpiry = verifier.verify(token);
+
+        // Assert
+        assertNull(afterExpiry);
+        assertEquals(0, verifier.cachedTokenCount());
+    }
+
+    @Test
+    void testTamperedOrMissingTokenIsRejected() {
+        // Arrange
+        String token = TokenJWTUtility.generateToken("writer");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertNull(verifier.verify(tampered));
+        assertNull(verifier.verify("not-a-jwt"));
+        assertNull(verifier.verify(null));
+        assertEquals(0, verifier.cachedTokenCount());
+    }
+}
@@ -0,0 +1,70 @@
+package com.danielvflores.writook.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import com.danielvflores.writook.dto.CursorPageDTO;
+import com.danielvflores.writook.model.ChapterComment;
+import com.danielvflores.writook.repository.ChapterCommentRepository;
+import com.danielvflores.writook.service.ChapterCommentService;
+
+public class ChapterCommentCursorTest {
+
+    @InjectMocks
+    private ChapterCommentService chapterCommentService;
+
+    @Mock
+    private ChapterCommentRepository chapterCommentRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetChapterCommentsPage_NextCursorContinuesAfterLastComment() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        ChapterComment last = new ChapterComment(storyId, 1, UUID.randomUUID(), "Great chapter");
+        last.setId(UUID.randomUUID());
+        last.setCreatedAt(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 678_000));
+        when(chapterCommentRepository.findFirstCommentsSlice(eq(storyId), eq(1), any()))
+            .thenReturn(new SliceImpl<>(List.of(last), PageRequest.of(0, 1), true));
+        when(chapterCommentRepository.findCommentsSliceAfter(eq(storyId), eq(1), eq(last.getCreatedAt()), eq(last.getId()), any()))
+            .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 1), false));
+
+        // Act
+        CursorPageDTO<ChapterComment> first = chapterCommentService.getChapterCommentsPage(storyId, 1, null, 1);
+        CursorPageDTO<ChapterComment> second = chapterCommentService.getChapterCommentsPage(storyId, 1, first.getNextCursor(), 1);
+
+        // Assert
+        assertTrue(first.isHasNext());
+        assertEquals(1, first.getSize());
+        assertFalse(second.isHasNext());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    public void testGetChapterCommentsPage_RejectsGarbageCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+            () -> chapterCommentService.getChapterCommentsPage(UUID.randomUUID(), 1, "not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,75 @@
+package com.danielvflores.writook.services;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.danielvflores.writook.service.ChapterReaderService;
+
+public class ChapterReaderServiceTest {
+
+    private static final int MORE_THAN_CACHED = 10_001;
+
+    @InjectMocks
+    private ChapterReaderService chapterReaderService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testUnreadChapterAndStoryEstimatesAreCached() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+
+        // Act
+        long chapter = chapterReaderService.estimateChapterReaders(storyId, 1);
+        chapterReaderService.estimateChapterReaders(storyId, 1);
+        long story = chapterReaderService.estimateStoryReaders(storyId);
+        chapterReaderService.estimateStoryReaders(storyId);
+
+        // Assert
+        assertEquals(0, chapter);
+        assertEquals(0, story);
+        verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<byte[]>>any(), eq(storyId), eq(1));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowCallbackHandler.class), eq(storyId));
+    }
+
+    @Test
+    public void testOnlyPersistedSketchesAreEvicted() {
+        // Arrange: one chapter read but not flushed yet, then enough other chapters to overflow the cache
+        UUID storyId = UUID.randomUUID();
+        chapterReaderService.recordRead(storyId, 0, "user:ana");
+        chapterReaderService.estimateChapterReaders(storyId, 1);
+        for (int chapter = 2; chapter <= MORE_THAN_CACHED; chapter++) {
+            chapterReaderService.estimateChapterReaders(storyId, chapter);
+        }
+
+        // Act
+        long unflushed = chapterReaderService.estimateChapterReaders(storyId, 0);
+        chapterReaderService.estimateChapterReaders(storyId, 1);
+
+        // Assert: the dirty sketch stayed in memory, the least recently used clean one is reloaded
+        assertEquals(1, unflushed);
+        verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<byte[]>>any(), eq(storyId), eq(0));
+        verify(jdbcTemplate, times(2)).query(anyString(), ArgumentMatchers.<RowMapper<byte[]>>any(), eq(storyId), eq(1));
+    }
+}
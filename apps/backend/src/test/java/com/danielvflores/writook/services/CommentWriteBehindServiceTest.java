@@ -0,0 +1,120 @@
+package com.danielvflores.writook.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.danielvflores.writook.model.ChapterComment;
+import com.danielvflores.writook.model.Comment;
+import com.danielvflores.writook.service.CommentWriteBehindService;
+
+public class CommentWriteBehindServiceTest {
+
+    @InjectMocks
+    private CommentWriteBehindService writeBehind;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(writeBehind, "enabled", true);
+        ReflectionTestUtils.setField(writeBehind, "queueCapacity", 100);
+        ReflectionTestUtils.setField(writeBehind, "maxBatch", 500);
+        ReflectionTestUtils.setField(writeBehind, "lingerMillis", 200L);
+        ReflectionTestUtils.setField(writeBehind, "ackTimeoutMillis", 5000L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writeBehind.shutdown();
+    }
+
+    @Test
+    public void testConcurrentCommentsShareOneMultiRowInsert() throws Exception {
+        // Arrange
+        writeBehind.start();
+        UUID storyId = UUID.randomUUID();
+        List<CompletableFuture<Boolean>> writes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment(storyId, UUID.randomUUID(), "comment " + i);
+            writes.add(CompletableFuture.supplyAsync(() -> writeBehind.write(comment)));
+        }
+        for (CompletableFuture<Boolean> write : writes) assertTrue(write.get());
+
+        // Assert: acknowledged only after the statement ran, and all rows went in the same one
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(sql.capture(), args.capture());
+        assertTrue(sql.getValue().startsWith("WITH inserted AS (INSERT INTO comments"));
+        assertTrue(sql.getValue().contains("comment_count = s.comment_count + c.added"));
+        assertEquals(15, args.getValue().length);
+    }
+
+    @Test
+    public void testFailedRowDoesNotFailTheRestOfItsBatch() throws Exception {
+        // Arrange: a long linger so both rows land in the same batch
+        ReflectionTestUtils.setField(writeBehind, "lingerMillis", 1000L);
+        writeBehind.start();
+        UUID deletedStory = UUID.randomUUID();
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            for (Object arg : invocation.getArguments()) {
+                if (deletedStory.equals(arg)) throw new DataIntegrityViolationException("fk_chapter_comment_story");
+            }
+            return 1;
+        });
+        ChapterComment good = new ChapterComment(UUID.randomUUID(), 1, UUID.randomUUID(), "good");
+        ChapterComment bad = new ChapterComment(deletedStory, 1, UUID.randomUUID(), "bad");
+
+        // Act
+        CompletableFuture<Boolean> goodWrite = CompletableFuture.supplyAsync(() -> writeBehind.write(good));
+        CompletableFuture<Boolean> badWrite = CompletableFuture.supplyAsync(() -> writeBehind.write(bad));
+
+        // Assert: the batch is retried row by row and only the bad row's caller sees the error
+        assertTrue(goodWrite.get());
+        Exception error = assertThrows(Exception.class, badWrite::get);
+        assertTrue(error.getCause() instanceof DataIntegrityViolationException);
+        verify(jdbcTemplate, times(3)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    public void testDisabledOrStoppedCallersStoreSynchronously() {
+        // Arrange
+        ReflectionTestUtils.setField(writeBehind, "enabled", false);
+        writeBehind.start();
+        Comment comment = new Comment(UUID.randomUUID(), UUID.randomUUID(), "hola");
+
+        // Act
+        boolean queued = writeBehind.write(comment);
+
+        // Assert
+        assertFalse(writeBehind.isEnabled());
+        assertFalse(queued);
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
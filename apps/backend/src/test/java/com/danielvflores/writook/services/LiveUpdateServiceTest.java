@@ -0,0 +1,178 @@
+package com.danielvflores.writook.services;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.danielvflores.writook.dto.LiveEventDTO;
+import com.danielvflores.writook.service.LiveUpdateService;
+
+public class LiveUpdateServiceTest {
+
+    private final List<StubEmitter> emitters = Collections.synchronizedList(new ArrayList<>());
+    private volatile CountDownLatch sendGate;
+
+    private final LiveUpdateService liveUpdateService = new LiveUpdateService() {
+        @Override
+        protected SseEmitter newEmitter() {
+            StubEmitter emitter = new StubEmitter(sendGate);
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    public void tearDown() {
+        if (sendGate != null) sendGate.countDown();
+        liveUpdateService.shutdown();
+    }
+
+    @Test
+    public void testEventsAreDeliveredInPublishOrder() throws Exception {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        liveUpdateService.subscribeToStory(storyId);
+        StubEmitter emitter = emitters.get(0);
+
+        // Act
+        for (int i = 0; i < 20; i++) liveUpdateService.publishStoryEvent(comment(storyId, "comment " + i));
+
+        // Assert
+        assertTrue(emitter.awaitEvents(20));
+        for (int i = 0; i < 20; i++) assertEquals("comment " + i, emitter.events.get(i).getContent());
+    }
+
+    @Test
+    public void testSlowSubscriberIsDisconnectedWhenItsBufferOverflows() throws Exception {
+        // Arrange: the first send (the initial heartbeat) blocks, so nothing leaves the buffer
+        sendGate = new CountDownLatch(1);
+        UUID storyId = UUID.randomUUID();
+        liveUpdateService.subscribeToStory(storyId);
+        StubEmitter slow = emitters.get(0);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        // Act: one more event than the 32 the buffer holds
+        for (int i = 0; i < 33; i++) liveUpdateService.publishStoryEvent(comment(storyId, "comment " + i));
+
+        // Assert: completed and unregistered without waiting for the blocked send
+        assertTrue(slow.completed);
+        assertEquals(0, liveUpdateService.subscriberCount());
+    }
+
+    @Test
+    public void testSlowSubscriberDoesNotHoldBackOthers() throws Exception {
+        // Arrange
+        sendGate = new CountDownLatch(1);
+        UUID storyId = UUID.randomUUID();
+        liveUpdateService.subscribeToStory(storyId);
+        StubEmitter slow = emitters.get(0);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+        sendGate = null;
+        liveUpdateService.subscribeToStory(storyId);
+        StubEmitter fast = emitters.get(1);
+
+        // Act
+        for (int i = 0; i < 40; i++) liveUpdateService.publishStoryEvent(comment(storyId, "comment " + i));
+
+        // Assert
+        assertTrue(fast.awaitEvents(40));
+        assertTrue(slow.completed);
+        assertFalse(fast.completed);
+        assertEquals(1, liveUpdateService.subscriberCount());
+    }
+
+    @Test
+    public void testSubscriptionsBeyondTheCapAreRejected() {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        for (int i = 0; i < 50_000; i++) liveUpdateService.subscribeToStory(storyId);
+
+        // Act / Assert: the controller answers this with 503
+        assertThrows(IllegalStateException.class, () -> liveUpdateService.subscribeToChapter(storyId, 1));
+        assertEquals(50_000, liveUpdateService.subscriberCount());
+
+        // A closed connection frees its slot
+        emitters.get(0).complete();
+        liveUpdateService.subscribeToChapter(storyId, 1);
+        assertEquals(50_000, liveUpdateService.subscriberCount());
+    }
+
+    @Test
+    public void testCompletionUnregistersTheSubscriber() throws Exception {
+        // Arrange
+        UUID storyId = UUID.randomUUID();
+        liveUpdateService.subscribeToChapter(storyId, 3);
+        StubEmitter emitter = emitters.get(0);
+
+        // Act
+        emitter.complete();
+        liveUpdateService.publishChapterEvent(new LiveEventDTO("comment", storyId, 3, UUID.randomUUID(), UUID.randomUUID(), "late", null));
+
+        // Assert
+        assertEquals(0, liveUpdateService.subscriberCount());
+        assertFalse(emitter.awaitEvents(1));
+    }
+
+    private static LiveEventDTO comment(UUID storyId, String content) {
+        return new LiveEventDTO("comment", storyId, null, UUID.randomUUID(), UUID.randomUUID(), content, null);
+    }
+
+    // Records what would be written to the connection; with a gate, the first send blocks until it opens
+    private static final class StubEmitter extends SseEmitter {
+        private final List<LiveEventDTO> events = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch gate;
+        private Runnable onCompletion = () -> { };
+        private volatile boolean completed;
+
+        private StubEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof LiveEventDTO event) events.add(event);
+            }
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            this.onCompletion = callback;
+        }
+
+        // Like the container, completing the response runs the completion callback
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            onCompletion.run();
+        }
+
+        private boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(count > 1 ? 5000 : 200);
+            while (events.size() < count && System.nanoTime() < deadline) Thread.sleep(5);
+            return events.size() >= count;
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package com.danielvflores.writook.services;
 
-import java.util.Arrays;
-import java.util.Collections;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -12,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.danielvflores.writook.model.User;
 import com.danielvflores.writook.service.AuthService;
@@ -25,6 +23,9 @@ public class LoginUserTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -36,9 +37,10 @@ public class LoginUserTest {
         String username = "danielvflores";
         String password = "password123";
         
-        User existingUser = new User(username, null, "daniel@email.com", password, "Daniel V. Flores", "A passionate writer.", "https://avatar.url/daniel.jpg");
+        User existingUser = new User(username, null, "daniel@email.com", "hashed-password", "Daniel V. Flores", "A passionate writer.", "https://avatar.url/daniel.jpg");
         
-        when(userService.getAllUsers()).thenReturn(Arrays.asList(existingUser));
+        when(userService.findByUsernameOrEmail(username)).thenReturn(existingUser);
+        when(passwordEncoder.matches(password, "hashed-password")).thenReturn(true);
 
         // Act
         User loggedInUser = authService.login(username, password);
@@ -56,7 +58,7 @@ public class LoginUserTest {
         String username = "nonexistentuser";
         String password = "password123";
         
-        when(userService.getAllUsers()).thenReturn(Collections.emptyList());
+        when(userService.findByUsernameOrEmail(username)).thenReturn(null);
 
         // Act
         User loggedInUser = authService.login(username, password);
@@ -72,9 +74,11 @@ public class LoginUserTest {
         String incorrectPassword = "wrongpassword";
         String correctPassword = "password123";
         
-        User existingUser = new User(username, null, "daniel@email.com", correctPassword, "Daniel V. Flores", "A passionate writer.", "https://avatar.url/daniel.jpg");
+        User existingUser = new User(username, null, "daniel@email.com", "hashed-password", "Daniel V. Flores", "A passionate writer.", "https://avatar.url/daniel.jpg");
         
-        when(userService.getAllUsers()).thenReturn(Arrays.asList(existingUser));
+        when(userService.findByUsernameOrEmail(username)).thenReturn(existingUser);
+        when(passwordEncoder.matches(correctPassword, "hashed-password")).thenReturn(true);
+        when(passwordEncoder.matches(incorrectPassword, "hashed-password")).thenReturn(false);
 
         // Act
         User loggedInUser = authService.login(username, incorrectPassword);
@@ -89,7 +93,7 @@ public class LoginUserTest {
         String username = "anyuser";
         String password = "anypassword";
         
-        when(userService.getAllUsers()).thenReturn(Collections.emptyList());
+        when(userService.findByUsernameOrEmail(username)).thenReturn(null);
 
         // Act
         User loggedInUser = authService.login(username, password);
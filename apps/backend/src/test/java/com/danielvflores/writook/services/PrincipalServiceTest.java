@@ -0,0 +1,68 @@
+package com.danielvflores.writook.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielvflores.writook.entity.UserEntity;
+import com.danielvflores.writook.model.User;
+import com.danielvflores.writook.repository.UserRepository;
+import com.danielvflores.writook.service.PrincipalService;
+
+public class PrincipalServiceTest {
+
+    @InjectMocks
+    private PrincipalService principalService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testResolve_CachesFoundUsers() {
+        // Arrange
+        UserEntity entity = new UserEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setUsername("writer");
+        entity.setEmail("writer@email.com");
+        when(userRepository.findByUsernameOrEmail("writer")).thenReturn(List.of(entity));
+
+        // Act
+        User first = principalService.resolve("writer");
+        User second = principalService.resolve("writer");
+
+        // Assert
+        assertEquals("writer", first.getUsername());
+        assertEquals(first, second);
+        verify(userRepository, times(1)).findByUsernameOrEmail("writer");
+    }
+
+    @Test
+    public void testResolve_CachesMissingUsersUntilInvalidated() {
+        // Arrange
+        when(userRepository.findByUsernameOrEmail("ghost")).thenReturn(List.of());
+
+        // Act
+        assertNull(principalService.resolve("ghost"));
+        assertNull(principalService.resolve("ghost"));
+        principalService.invalidate("ghost");
+        principalService.resolve("ghost");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsernameOrEmail("ghost");
+    }
+}
@@ -1,8 +1,5 @@
 package com.danielvflores.writook.services;
 
-import java.util.ArrayList;
-import java.util.Collections;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -12,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.danielvflores.writook.model.User;
 import com.danielvflores.writook.service.AuthService;
@@ -25,6 +23,9 @@ public class RegisterUserTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -40,7 +41,8 @@ public class RegisterUserTest {
 
         User expectedUser = new User(username, null, email, password, displayName, "", "");
         
-        when(userService.getAllUsers()).thenReturn(new ArrayList<>());
+        when(userService.existsByUsernameOrEmail(username, email)).thenReturn(false);
+        when(passwordEncoder.encode(password)).thenReturn("hashed-password");
         when(userService.createUser(org.mockito.ArgumentMatchers.any(User.class))).thenReturn(expectedUser);
 
         // Act
@@ -61,8 +63,7 @@ public class RegisterUserTest {
         String password = "password";
         String displayName = "Existing User";
 
-        User existingUser = new User(username, null, email, password, displayName, "", "");
-        when(userService.getAllUsers()).thenReturn(Collections.singletonList(existingUser));
+        when(userService.existsByUsernameOrEmail(username, email)).thenReturn(true);
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
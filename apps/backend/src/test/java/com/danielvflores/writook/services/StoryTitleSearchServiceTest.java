@@ -0,0 +1,50 @@
+package com.danielvflores.writook.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.Mockito.when;
+
+import com.danielvflores.writook.repository.StoryRepository;
+import com.danielvflores.writook.service.StoryTitleSearchService;
+
+public class StoryTitleSearchServiceTest {
+
+    @InjectMocks
+    private StoryTitleSearchService storyTitleSearchService;
+
+    @Mock
+    private StoryRepository storyRepository;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testUpdatesCommittedDuringRebuildAreNotLost() {
+        // Arrange: while the rebuild reads the table, one story is renamed and another is created
+        UUID existing = UUID.randomUUID();
+        UUID created = UUID.randomUUID();
+        when(storyRepository.findTitleIndexRows()).thenAnswer(invocation -> {
+            storyTitleSearchService.indexStory(existing, "Mareas del este", "Ana");
+            storyTitleSearchService.indexStory(created, "Luces del sur", "Luis");
+            return List.<Object[]>of(new Object[] { existing, "Sombras del norte", "Ana" });
+        });
+
+        // Act
+        storyTitleSearchService.rebuild();
+
+        // Assert
+        assertEquals(List.of(created), storyTitleSearchService.search("luces", 5));
+        assertEquals(List.of(existing), storyTitleSearchService.search("mareas", 5));
+        assertTrue(storyTitleSearchService.search("sombras", 5).isEmpty());
+    }
+}
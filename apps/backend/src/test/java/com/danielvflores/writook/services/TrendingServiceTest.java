@@ -0,0 +1,55 @@
+package com.danielvflores.writook.services;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.danielvflores.writook.service.TrendingService;
+import com.danielvflores.writook.utility.DecayingTopK;
+
+public class TrendingServiceTest {
+
+    private TrendingService trendingService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        trendingService = new TrendingService(24);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(trendingService, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    public void testEventsRecordedDuringRebuildAreNotLost() {
+        // Arrange: while the replay reads the tables, a comment commits and a view flush lands
+        UUID commented = UUID.randomUUID();
+        UUID viewed = UUID.randomUUID();
+        boolean[] fired = { false };
+        doAnswer(invocation -> {
+            if (!fired[0]) {
+                fired[0] = true;
+                trendingService.recordComment(commented);
+                trendingService.recordViews(viewed, 2);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        // Act
+        trendingService.rebuild();
+
+        // Assert
+        List<UUID> top = trendingService.top(10).stream().map(DecayingTopK.Scored::key).toList();
+        assertEquals(List.of(commented, viewed), top);
+    }
+}
@@ -0,0 +1,91 @@
+package com.danielvflores.writook.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.danielvflores.writook.dto.UserCardDTO;
+import com.danielvflores.writook.repository.UserRepository;
+import com.danielvflores.writook.service.PrincipalService;
+import com.danielvflores.writook.service.UserService;
+
+public class UserCardsTest {
+
+    @InjectMocks
+    private UserService userService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PrincipalService principalService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testGetUserCards_OneQueryPerPageThenCached() {
+        // Arrange
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID ghost = UUID.randomUUID();
+        when(userRepository.findCardsByIds(List.of(alice, bob, ghost))).thenReturn(List.of(
+            new UserCardDTO(alice, "alice", "Alice", null),
+            new UserCardDTO(bob, "bob", "Bob", null)));
+        when(userRepository.findCardsByIds(List.of(ghost))).thenReturn(List.of());
+
+        // Act: a page where alice commented twice, then a second page with the same people
+        Map<UUID, UserCardDTO> first = userService.getUserCards(List.of(alice, bob, alice, ghost));
+        Map<UUID, UserCardDTO> second = userService.getUserCards(List.of(bob, alice, ghost));
+
+        // Assert
+        assertEquals("alice", first.get(alice).getUsername());
+        assertEquals("bob", second.get(bob).getUsername());
+        assertFalse(second.containsKey(ghost));
+        verify(userRepository).findCardsByIds(List.of(alice, bob, ghost));
+        verify(userRepository).findCardsByIds(List.of(ghost));
+    }
+
+    @Test
+    public void testGetUserCards_MissesAreChunkedUnderTheBindLimit() {
+        // Arrange: every rater of a popular story, none cached
+        List<UUID> raters = IntStream.range(0, 1_200).mapToObj(i -> UUID.randomUUID()).toList();
+        when(userRepository.findCardsByIds(anyList())).thenReturn(List.of());
+
+        // Act
+        userService.getUserCards(raters);
+
+        // Assert
+        verify(userRepository, times(3)).findCardsByIds(anyList());
+        verify(userRepository).findCardsByIds(raters.subList(1_000, 1_200));
+    }
+
+    @Test
+    public void testWithUsernames_UnknownAuthorsGetPlaceholder() {
+        // Arrange
+        UUID alice = UUID.randomUUID();
+        UUID ghost = UUID.randomUUID();
+        when(userRepository.findCardsByIds(List.of(alice, ghost))).thenReturn(List.of(new UserCardDTO(alice, "alice", "Alice", null)));
+
+        // Act
+        List<String> lines = userService.withUsernames(List.of(alice, ghost, alice), id -> id, (id, username) -> username);
+
+        // Assert
+        assertEquals(List.of("alice", "Usuario desconocido", "alice"), lines);
+    }
+}
@@ -0,0 +1,103 @@
+package com.danielvflores.writook.services;
+
+import java.sql.ResultSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.danielvflores.writook.service.TrendingService;
+import com.danielvflores.writook.service.ViewCounterService;
+
+public class ViewCounterServiceTest {
+
+    @InjectMocks
+    private ViewCounterService viewCounterService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TrendingService trendingService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    public void testFlush_BatchesPendingViews() throws Exception {
+        // Arrange: the UPDATE returns the story it matched
+        UUID storyId = UUID.randomUUID();
+        returnUpdatedRows(new Object[] { storyId, 3L });
+        viewCounterService.recordView(storyId);
+        viewCounterService.recordView(storyId);
+        viewCounterService.recordView(storyId);
+
+        // Act
+        viewCounterService.flush();
+        viewCounterService.flush();
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowCallbackHandler.class), args.capture());
+        assertTrue(sql.getValue().startsWith("UPDATE stories s SET views"));
+        assertTrue(sql.getValue().endsWith("RETURNING s.id, v.delta"));
+        assertArrayEquals(new Object[] { storyId, 3L }, args.getValue());
+        verify(trendingService).recordViews(storyId, 3L);
+    }
+
+    @Test
+    public void testFlush_DeletedStoryDoesNotReachTrending() throws Exception {
+        // Arrange: the story was deleted before the flush, so the UPDATE matches nothing
+        UUID deleted = UUID.randomUUID();
+        returnUpdatedRows();
+        viewCounterService.recordView(deleted);
+
+        // Act
+        viewCounterService.flush();
+
+        // Assert
+        verify(trendingService, never()).recordViews(any(UUID.class), anyLong());
+    }
+
+    @Test
+    public void testFlush_NothingPending() {
+        // Act
+        viewCounterService.flush();
+
+        // Assert
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    // Feeds the given (id, delta) rows to the RETURNING row handler
+    private void returnUpdatedRows(Object[]... rows) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        int[] current = { -1 };
+        when(rs.getObject(1, UUID.class)).thenAnswer(i -> rows[current[0]][0]);
+        when(rs.getLong(2)).thenAnswer(i -> rows[current[0]][1]);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (current[0] = 0; current[0] < rows.length; current[0]++) handler.processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+}
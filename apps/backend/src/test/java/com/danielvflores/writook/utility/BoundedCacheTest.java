@@ -0,0 +1,42 @@
+package com.danielvflores.writook.utility;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        // Arrange
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+
+        // Act
+        cache.get("a");
+        cache.put("c", 3);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void testExpiredEntriesAreMisses() throws InterruptedException {
+        // Arrange
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10, Duration.ofMillis(20));
+        cache.put("a", 1);
+
+        // Act
+        Thread.sleep(40);
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
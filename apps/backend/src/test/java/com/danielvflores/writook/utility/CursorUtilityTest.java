@@ -0,0 +1,28 @@
+package com.danielvflores.writook.utility;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class CursorUtilityTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        UUID id = UUID.randomUUID();
+        String sortKey = "2025-01-15T10:30:00.123456Z";
+
+        String token = CursorUtility.encode(sortKey, id);
+        CursorUtility.Cursor cursor = CursorUtility.decode(token);
+
+        assertEquals(sortKey, cursor.sortKey());
+        assertEquals(id, cursor.id());
+    }
+
+    @Test
+    void testDecodeInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> CursorUtility.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> CursorUtility.decode("%%%"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.danielvflores.writook.utility;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class DecayingTopKTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @Test
+    void testRecentEventsOutrankOlderOnes() {
+        // Arrange
+        long now = 1_000_000_000_000L;
+        DecayingTopK topK = new DecayingTopK(10, HOUR, now);
+        UUID old = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+
+        // Act: 3 events two half-lives ago are worth 0.75, less than one event now
+        topK.add(old, 1.0, now - 2 * HOUR);
+        topK.add(old, 1.0, now - 2 * HOUR);
+        topK.add(old, 1.0, now - 2 * HOUR);
+        topK.add(fresh, 1.0, now);
+        List<DecayingTopK.Scored> top = topK.top(10, now);
+
+        // Assert
+        assertEquals(fresh, top.get(0).key());
+        assertEquals(0.75, top.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void testCapacityEvictsLowestAndRescaleKeepsScores() {
+        // Arrange
+        long now = 0L;
+        DecayingTopK topK = new DecayingTopK(2, HOUR, now);
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        topK.add(a, 5.0, now);
+        topK.add(b, 1.0, now);
+
+        // Act: far in the future the landmark has to move (exponent above the rescale limit)
+        long later = now + 100 * HOUR;
+        topK.add(c, 2.0, later);
+        List<DecayingTopK.Scored> top = topK.top(10, later);
+
+        // Assert
+        assertEquals(2, topK.size());
+        assertEquals(c, top.get(0).key());
+        assertEquals(2.0, top.get(0).score(), 1e-9);
+        assertEquals(a, top.get(1).key());
+    }
+}
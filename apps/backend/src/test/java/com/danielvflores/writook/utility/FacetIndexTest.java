@@ -0,0 +1,86 @@
+package com.danielvflores.writook.utility;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class FacetIndexTest {
+
+    @Test
+    void testFiltersNewestFirstWithCounts() {
+        // Arrange
+        FacetIndex index = new FacetIndex();
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID newest = UUID.randomUUID();
+        index.put(oldest, List.of("Fantasy"), List.of("slow-burn"), 4.5);
+        index.put(middle, List.of("Fantasy", "Romance"), List.of("slow-burn", "magic"), 3.0);
+        index.put(newest, List.of("Sci-Fi"), List.of("magic"), 5.0);
+
+        // Act
+        FacetIndex.Result all = index.query(List.of("Fantasy"), List.of("slow-burn"), true, null, 0, 10, 10);
+        FacetIndex.Result rated = index.query(List.of("Fantasy"), List.of(), true, 4.0, 0, 10, 10);
+
+        // Assert
+        assertEquals(List.of(middle, oldest), all.page());
+        assertEquals(2, all.total());
+        assertEquals(2L, all.genreCounts().get("Fantasy"));
+        assertEquals(1L, all.genreCounts().get("Romance"));
+        assertEquals(1L, all.tagCounts().get("magic"));
+        assertEquals(List.of(oldest), rated.page());
+    }
+
+    @Test
+    void testMatchAnyAndUpdates() {
+        // Arrange
+        FacetIndex index = new FacetIndex();
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        index.put(a, List.of("Horror"), List.of(), 0.0);
+        index.put(b, List.of("Mystery"), List.of(), 0.0);
+
+        // Act
+        index.put(a, List.of("Mystery"), List.of(), 0.0);
+        index.remove(b);
+        FacetIndex.Result any = index.query(List.of("Horror", "Mystery"), null, false, null, 0, 10, 10);
+
+        // Assert
+        assertEquals(List.of(a), any.page());
+        assertEquals(1L, any.genreCounts().get("Mystery"));
+        assertNull(any.genreCounts().get("Horror"));
+    }
+
+    @Test
+    void testDeleteChurnIsCompactedKeepingNewestFirst() {
+        // Arrange
+        FacetIndex index = new FacetIndex();
+        UUID oldest = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        index.put(oldest, List.of("Fantasy"), List.of("magic"), 4.0);
+        index.put(middle, List.of("Fantasy"), List.of(), 2.0);
+
+        // Act: stories created and deleted far more often than the live set grows
+        for (int i = 0; i < 5000; i++) {
+            UUID temporary = UUID.randomUUID();
+            index.put(temporary, List.of("Fantasy", "Churn"), List.of("magic"), 5.0);
+            index.remove(temporary);
+        }
+        UUID newest = UUID.randomUUID();
+        index.put(newest, List.of("Fantasy"), List.of("magic"), 3.0);
+        index.setRating(middle, 4.5);
+        FacetIndex.Result all = index.query(List.of("Fantasy"), null, true, null, 0, 10, 10);
+        FacetIndex.Result rated = index.query(null, List.of("magic"), true, 3.5, 0, 10, 10);
+
+        // Assert: dead slots are bounded and renumbering kept order, facets and ratings
+        assertTrue(index.slotCount() <= 1024 + index.size());
+        assertEquals(3, index.size());
+        assertEquals(List.of(newest, middle, oldest), all.page());
+        assertEquals(3L, all.genreCounts().get("Fantasy"));
+        assertNull(all.genreCounts().get("Churn"));
+        assertEquals(List.of(oldest), rated.page());
+    }
+}
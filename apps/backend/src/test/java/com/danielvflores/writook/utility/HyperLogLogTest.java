@@ -0,0 +1,43 @@
+package com.danielvflores.writook.utility;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateIsCloseAndIgnoresDuplicates() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog();
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            sketch.add("user:" + i);
+            sketch.add("user:" + i);
+        }
+
+        // Assert
+        long estimate = sketch.estimate();
+        assertTrue(Math.abs(estimate - 50_000) < 50_000 * 0.07, "estimate was " + estimate);
+    }
+
+    @Test
+    void testMergeAndSerializationRoundTrip() {
+        // Arrange
+        HyperLogLog chapterOne = new HyperLogLog();
+        HyperLogLog chapterTwo = new HyperLogLog();
+        for (int i = 0; i < 300; i++) chapterOne.add("reader-" + i);
+        for (int i = 200; i < 500; i++) chapterTwo.add("reader-" + i);
+
+        // Act
+        HyperLogLog story = HyperLogLog.fromBytes(chapterOne.toBytes());
+        story.merge(chapterTwo);
+
+        // Assert
+        assertEquals(chapterOne.estimate(), HyperLogLog.fromBytes(chapterOne.toBytes()).estimate());
+        assertTrue(Math.abs(story.estimate() - 500) < 25, "estimate was " + story.estimate());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 1, 2, 3 }));
+    }
+}
@@ -0,0 +1,91 @@
+package com.danielvflores.writook.utility;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class ItemSimilarityTest {
+
+    @Test
+    void testNeighboursOrderedByCosineSimilarity() {
+        // Arrange
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        ItemSimilarity.Builder builder = new ItemSimilarity.Builder(100);
+        builder.addUser(List.of(a, b));
+        builder.addUser(List.of(a, b));
+        builder.addUser(List.of(a, b, c));
+        builder.addUser(List.of(a, c));
+        builder.addUser(List.of(c, b));
+
+        // Act
+        ItemSimilarity similarity = builder.build(10, 1);
+
+        // Assert: a-b liked together 3 times (4 and 4 likes), a-c twice (4 and 3 likes)
+        assertEquals(List.of(b, c), similarity.neighboursOf(a, 10));
+        assertEquals(3 / 4.0, similarity.similarity(a, b), 1e-6);
+        assertEquals(2 / Math.sqrt(12), similarity.similarity(a, c), 1e-6);
+    }
+
+    @Test
+    void testTopNAndMinCoLikesBoundTheNeighbours() {
+        // Arrange
+        UUID seed = UUID.randomUUID();
+        UUID strong = UUID.randomUUID();
+        UUID weak = UUID.randomUUID();
+        UUID lonely = UUID.randomUUID();
+        ItemSimilarity.Builder builder = new ItemSimilarity.Builder(100);
+        for (int i = 0; i < 3; i++) builder.addUser(List.of(seed, strong));
+        for (int i = 0; i < 2; i++) builder.addUser(List.of(seed, weak));
+        builder.addUser(List.of(seed, lonely));
+
+        // Act
+        ItemSimilarity similarity = builder.build(1, 2);
+
+        // Assert
+        assertEquals(List.of(strong), similarity.neighboursOf(seed, 10));
+        assertEquals(0f, similarity.similarity(seed, lonely));
+        assertTrue(similarity.neighboursOf(lonely, 10).isEmpty());
+        assertTrue(similarity.neighboursOf(UUID.randomUUID(), 10).isEmpty());
+    }
+
+    @Test
+    void testLikesPerUserAreCapped() {
+        // Arrange
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        ItemSimilarity.Builder builder = new ItemSimilarity.Builder(2);
+
+        // Act
+        builder.addUser(List.of(a, b, c));
+        ItemSimilarity similarity = builder.build(10, 1);
+
+        // Assert
+        assertEquals(List.of(b), similarity.neighboursOf(a, 10));
+        assertEquals(2, similarity.itemCount());
+    }
+
+    @Test
+    void testManyItemsGrowTheIdTableAndNeighbourArrays() {
+        // Arrange: 3000 stories in chains of pairs, more than the initial id table and output capacity
+        ItemSimilarity.Builder builder = new ItemSimilarity.Builder(100);
+        UUID[] stories = new UUID[3000];
+        for (int i = 0; i < stories.length; i++) stories[i] = UUID.randomUUID();
+        for (int i = 0; i + 1 < stories.length; i++) builder.addUser(List.of(stories[i], stories[i + 1]));
+
+        // Act
+        ItemSimilarity similarity = builder.build(10, 1);
+
+        // Assert: every story keeps its chain neighbours and unknown stories have none
+        assertEquals(stories.length, similarity.itemCount());
+        assertEquals(List.of(stories[1]), similarity.neighboursOf(stories[0], 10));
+        assertEquals(2, similarity.neighboursOf(stories[1500], 10).size());
+        assertTrue(similarity.neighboursOf(stories[1500], 10).contains(stories[1501]));
+        assertEquals(List.of(), similarity.neighboursOf(UUID.randomUUID(), 10));
+    }
+}
@@ -0,0 +1,73 @@
+package com.danielvflores.writook.utility;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    @Test
+    void testMisspelledQueryFindsTitle() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        UUID dragons = UUID.randomUUID();
+        UUID potter = UUID.randomUUID();
+        index.put(dragons, "El Reino de los Dragones Daniel V. Flores");
+        index.put(potter, "Harry Potter fanfic Jane");
+
+        // Act
+        List<UUID> results = index.search("harry poter", 5, 0.4);
+
+        // Assert
+        assertEquals(potter, results.get(0));
+        assertTrue(!results.contains(dragons));
+    }
+
+    @Test
+    void testAccentsAreIgnored() {
+        TrigramIndex index = new TrigramIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Canción del Océano");
+
+        assertEquals(List.of(id), index.search("cancion oceano", 5, 0.4));
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        TrigramIndex index = new TrigramIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Sombras");
+        index.put(id, "Luces");
+
+        assertTrue(index.search("sombras", 5, 0.4).isEmpty());
+        assertEquals(List.of(id), index.search("luces", 5, 0.4));
+
+        index.remove(id);
+        assertTrue(index.search("luces", 5, 0.4).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRemovedSlotsAreReusedWithoutMixingDocuments() {
+        // Arrange
+        TrigramIndex index = new TrigramIndex();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        index.put(first, "Sombras del norte");
+        index.put(second, "Luces del sur");
+        index.remove(first);
+
+        // Act
+        index.put(third, "Mareas del este");
+
+        // Assert
+        assertTrue(index.search("sombras", 5, 0.4).isEmpty());
+        assertEquals(List.of(third), index.search("mareas", 5, 0.4));
+        assertEquals(List.of(second), index.search("luces", 5, 0.4));
+        assertEquals(2, index.size());
+    }
+}
@@ -85,22 +85,10 @@ export default function CreateChapter() {
 
     setLoading(true);
     try {
-      // GET Story to get next chapter number
-      const storyResponse = await fetch(`${ENV_CONFIG.API_BASE_URL}/stories/${storyId}`, {
-        headers: {
-          'Authorization': `Bearer ${localStorage.getItem('authToken')}`
-        }
-      });
-      
-      if (!storyResponse.ok) throw new Error('No se pudo cargar la historia');
-      
-      const storyData = await storyResponse.json();
-      const nextChapterNumber = storyData.chapters.length + 1;
-
+      // The server assigns the next chapter number
       const chapterData = {
         title: title.trim(),
-        content: content,
-        number: nextChapterNumber
+        content: content
       };
 
       // Use new POST endpoint to add chapter
@@ -40,7 +40,7 @@ export default function MyWorks() {
             stats: { 
               averageRating: 0, 
               totalComments: 0, 
-              totalChapters: story.chapters?.length || 0, 
+              totalChapters: story.chapterCount || 0, 
               status: 'In Progress' 
             } 
           };
@@ -171,7 +171,7 @@ export default function MyWorks() {
                       </span>
                       <span className="flex items-center">
                         <span className="text-blue-500">📄</span>
-                        <span className="ml-1">{story.stats?.totalChapters || story.chapters?.length || 0}</span>
+                        <span className="ml-1">{story.stats?.totalChapters || story.chapterCount || 0}</span>
                       </span>
                       <span className="flex items-center">
                         <span className="text-green-500">💬</span>
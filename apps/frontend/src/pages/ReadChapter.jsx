@@ -44,21 +44,21 @@ export default function ReadChapter() {
     try {
       setLoading(true);
       
-      // Load story data (public endpoint)
-      const response = await fetch(`${ENV_CONFIG.API_BASE_URL}/stories/${storyId}`);
-      if (!response.ok) throw new Error('Story not found');
-      
-      const storyData = await response.json();
-      setStory(storyData);
-      
+      // Load only this chapter (public endpoint), not the whole story
+      const token = localStorage.getItem('authToken');
+      const response = await fetch(`${ENV_CONFIG.API_BASE_URL}/stories/${storyId}/chapters/${parseInt(chapterNumber)}`, {
+        headers: token ? { 'Authorization': `Bearer ${token}` } : {}
+      });
+      if (!response.ok) throw new Error('Chapter not found');
+
+      const chapterData = await response.json();
+      setStory({ id: chapterData.storyId, title: chapterData.storyTitle, author: { username: chapterData.authorUsername } });
+
       // Check if current user is the story owner
-      if (user && storyData.author && storyData.author.username === user.username) {
+      if (user && chapterData.authorUsername === user.username) {
         setIsOwner(true);
       }
       
-      const chapterData = storyData.chapters.find(ch => ch.number === parseInt(chapterNumber));
-      if (!chapterData) throw new Error('Chapter not found');
-      
       // Load views from service
       const currentViews = viewsService.getChapterViews(storyId, parseInt(chapterNumber));
       chapterData.views = currentViews;